@@ -3,9 +3,14 @@ package net.fameless.api;
 import com.google.gson.JsonArray;
 import net.fameless.api.exception.PlayerNotFoundException;
 import net.fameless.api.model.AFKState;
+import net.fameless.api.model.Detection;
+import net.fameless.api.model.DetectionType;
 import net.fameless.api.model.Player;
 import net.fameless.api.service.BackendAPI;
 import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
 
 /**
  * The BungeeAFKAPI provides a static interface to the BungeeAFK plugin functionality.
@@ -268,4 +273,90 @@ public class BungeeAFKAPI {
     public static Object getConfigValue(String key) {
         return BackendAPI.getImplementation().getConfigValue(key);
     }
+
+    /**
+     * Gets a page of the detection history, newest first.
+     *
+     * @param type   The type of detections to include, or null for all types
+     * @param offset The number of newest matching detections to skip
+     * @param limit  The maximum number of detections to return
+     *
+     * @return The matching detections, newest first
+     */
+    public static List<Detection> getDetections(@Nullable DetectionType type, int offset, int limit) {
+        return BackendAPI.getImplementation().getDetections(type, offset, limit);
+    }
+
+    /**
+     * Gets a page of the detections recorded for a player, newest first.
+     * The player does not need to be online.
+     *
+     * @param player The player to get the detections for
+     * @param type   The type of detections to include, or null for all types
+     * @param offset The number of newest matching detections to skip
+     * @param limit  The maximum number of detections to return
+     *
+     * @return The matching detections, newest first
+     */
+    public static List<Detection> getDetections(Player player, @Nullable DetectionType type, int offset, int limit) {
+        return BackendAPI.getImplementation().getDetections(player, type, offset, limit);
+    }
+
+    /**
+     * Gets a page of the detections recorded for a player name, newest first.
+     * Unlike {@link #getDetections(Player, DetectionType, int, int)}, this includes detections recorded by older
+     * versions, which do not carry the player's UUID. Names are compared case-insensitively.
+     *
+     * @param playerName The name of the player to get the detections for
+     * @param type       The type of detections to include, or null for all types
+     * @param offset     The number of newest matching detections to skip
+     * @param limit      The maximum number of detections to return
+     *
+     * @return The matching detections, newest first
+     */
+    public static List<Detection> getDetections(String playerName, @Nullable DetectionType type, int offset, int limit) {
+        return BackendAPI.getImplementation().getDetections(playerName, type, offset, limit);
+    }
+
+    /**
+     * Gets a page of the detections recorded on a server, newest first.
+     * Server names are compared case-insensitively.
+     *
+     * @param serverName The name of the server to get the detections for
+     * @param type       The type of detections to include, or null for all types
+     * @param offset     The number of newest matching detections to skip
+     * @param limit      The maximum number of detections to return
+     *
+     * @return The matching detections, newest first
+     */
+    public static List<Detection> getDetectionsOnServer(String serverName, @Nullable DetectionType type, int offset, int limit) {
+        return BackendAPI.getImplementation().getDetectionsOnServer(serverName, type, offset, limit);
+    }
+
+    /**
+     * Gets a page of the detections recorded within a time range, newest first.
+     *
+     * @param from   The start of the range in milliseconds since the epoch, inclusive
+     * @param to     The end of the range in milliseconds since the epoch, exclusive
+     * @param type   The type of detections to include, or null for all types
+     * @param offset The number of newest matching detections to skip
+     * @param limit  The maximum number of detections to return
+     *
+     * @return The matching detections, newest first
+     */
+    public static List<Detection> getDetectionsBetween(long from, long to, @Nullable DetectionType type, int offset, int limit) {
+        return BackendAPI.getImplementation().getDetectionsBetween(from, to, type, offset, limit);
+    }
+
+    /**
+     * Gets the number of detections recorded for a player.
+     *
+     * @param player The player to count the detections for
+     * @param type   The type of detections to count, or null for all types
+     *
+     * @return The number of matching detections
+     */
+    public static int getDetectionCount(Player player, @Nullable DetectionType type) {
+        return BackendAPI.getImplementation().getDetectionCount(player, type);
+    }
 }
@@ -0,0 +1,18 @@
+package net.fameless.api.model;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.UUID;
+
+/**
+ * Represents an entry of the detection history.
+ * Detections recorded by older versions of BungeeAFK do not carry the player's UUID.
+ *
+ * @param type       the kind of behavior that was detected
+ * @param timestamp  the time of the detection in milliseconds since the epoch
+ * @param serverName the server the player was connected to
+ * @param playerName the name of the player at the time of the detection
+ * @param playerId   the UUID of the player, or null for detections recorded by older versions
+ */
+public record Detection(DetectionType type, long timestamp, String serverName, String playerName, @Nullable UUID playerId) {
+}
@@ -0,0 +1,11 @@
+package net.fameless.api.model;
+
+/**
+ * Represents the kinds of suspicious behavior recorded in the detection history.
+ */
+public enum DetectionType {
+
+    AUTO_CLICKER,
+    MOVEMENT_PATTERN
+
+}
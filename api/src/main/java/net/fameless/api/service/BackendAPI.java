@@ -3,10 +3,14 @@ package net.fameless.api.service;
 import com.google.gson.JsonArray;
 import net.fameless.api.exception.PlayerNotFoundException;
 import net.fameless.api.model.AFKState;
+import net.fameless.api.model.Detection;
+import net.fameless.api.model.DetectionType;
 import net.fameless.api.model.Player;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+
 public abstract class BackendAPI {
 
     private static BackendAPI implementation;
@@ -59,4 +63,16 @@ public abstract class BackendAPI {
 
     public abstract @Nullable Object getConfigValue(String key);
 
+    public abstract List<Detection> getDetections(@Nullable DetectionType type, int offset, int limit);
+
+    public abstract List<Detection> getDetections(Player player, @Nullable DetectionType type, int offset, int limit);
+
+    public abstract List<Detection> getDetections(String playerName, @Nullable DetectionType type, int offset, int limit);
+
+    public abstract List<Detection> getDetectionsOnServer(String serverName, @Nullable DetectionType type, int offset, int limit);
+
+    public abstract List<Detection> getDetectionsBetween(long from, long to, @Nullable DetectionType type, int offset, int limit);
+
+    public abstract int getDetectionCount(Player player, @Nullable DetectionType type);
+
 }
@@ -1,8 +1,13 @@
 package net.fameless.bungee;
 
 import net.fameless.core.handling.AFKHandler;
+import net.fameless.core.network.InboundEvent;
+import net.fameless.core.network.InboundEventQueue;
+import net.fameless.core.player.PlayerLifecycleService;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
+import net.md_5.bungee.api.event.PlayerDisconnectEvent;
 import net.md_5.bungee.api.event.PostLoginEvent;
+import net.md_5.bungee.api.event.ServerSwitchEvent;
 import net.md_5.bungee.api.plugin.Listener;
 import net.md_5.bungee.event.EventHandler;
 import org.jetbrains.annotations.NotNull;
@@ -16,20 +21,32 @@ public class BungeeAFKHandler extends AFKHandler implements Listener {
     public void onInit() {
         BungeePlatform.proxyServer().registerChannel("bungee:bungeeafk");
         BungeePlatform.proxyServer().getPluginManager().registerListener(BungeePlatform.get(), this);
+        PlayerLifecycleService.getInstance().setPlatformRegistry(BungeePlayer.BUNGEE_PLAYERS);
     }
 
     @EventHandler
     public void onPostLogin(@NotNull PostLoginEvent event) {
         BungeePlayer bungeePlayer = BungeePlayer.adapt(event.getPlayer());
+        PlayerLifecycleService.getInstance().handleJoin(bungeePlayer);
         awaitConnectionAndHandleJoin(bungeePlayer, 0);
     }
 
+    @EventHandler
+    public void onDisconnect(@NotNull PlayerDisconnectEvent event) {
+        BungeePlayer.adapt(event.getPlayer().getUniqueId()).ifPresent(PlayerLifecycleService.getInstance()::handleDisconnect);
+    }
+
+    @EventHandler
+    public void onServerSwitch(@NotNull ServerSwitchEvent event) {
+        BungeePlayer.adapt(event.getPlayer()).onServerSwitch();
+    }
+
     private void awaitConnectionAndHandleJoin(BungeePlayer bungeePlayer, int attempt) {
         final int maxAttempts = 50;
         BungeePlatform.get().getProxy().getScheduler().schedule(BungeePlatform.get(), () -> {
             Optional<ProxiedPlayer> playerOpt = bungeePlayer.getPlatformPlayer();
             if (playerOpt.isPresent() && playerOpt.get().getServer() != null) {
-                bungeePlayer.setActive();
+                InboundEventQueue.getInstance().offer(new InboundEvent.ActionCaught(bungeePlayer.getUniqueId()));
             } else if (attempt < maxAttempts) {
                 awaitConnectionAndHandleJoin(bungeePlayer, attempt + 1);
             } else {
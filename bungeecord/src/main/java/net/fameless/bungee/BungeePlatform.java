@@ -4,12 +4,15 @@ import net.fameless.core.BungeeAFK;
 import net.fameless.core.BungeeAFKPlatform;
 import net.fameless.core.ServerEnvironment;
 import net.md_5.bungee.api.ProxyServer;
+import net.md_5.bungee.api.config.ServerInfo;
 import net.md_5.bungee.api.plugin.Plugin;
 import org.bstats.bungeecord.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetSocketAddress;
 import java.util.List;
+import java.util.Optional;
 
 public final class BungeePlatform extends Plugin implements BungeeAFKPlatform {
 
@@ -56,6 +59,15 @@ public final class BungeePlatform extends Plugin implements BungeeAFKPlatform {
         return getProxy().getServers().keySet().stream().toList();
     }
 
+    @Override
+    public Optional<InetSocketAddress> getServerAddress(String serverName) {
+        ServerInfo serverInfo = getProxy().getServerInfo(serverName);
+        if (serverInfo != null && serverInfo.getSocketAddress() instanceof InetSocketAddress address) {
+            return Optional.of(address);
+        }
+        return Optional.empty();
+    }
+
     @Override
     public ServerEnvironment getServerEnvironment() {
         return ServerEnvironment.PROXY;
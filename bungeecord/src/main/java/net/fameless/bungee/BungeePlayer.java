@@ -5,6 +5,7 @@ import net.fameless.api.event.PlayerKickEvent;
 import net.fameless.core.adapter.APIAdapter;
 import net.fameless.core.command.framework.CallerType;
 import net.fameless.core.player.BAFKPlayer;
+import net.fameless.core.player.PlayerRegistry;
 import net.fameless.core.util.ServerPinger;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
@@ -14,41 +15,28 @@ import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.api.connection.Server;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 public class BungeePlayer extends BAFKPlayer<ProxiedPlayer> {
 
-    public static final List<BungeePlayer> BUNGEE_PLAYERS = new ArrayList<>();
+    public static final PlayerRegistry<BungeePlayer> BUNGEE_PLAYERS = new PlayerRegistry<>();
 
-    public BungeePlayer(@NotNull ProxiedPlayer player) {
-        super(player.getUniqueId());
-        this.name = player.getName();
-        BUNGEE_PLAYERS.add(this);
+    private BungeePlayer(@NotNull ProxiedPlayer player) {
+        super(player.getUniqueId(), player.getName());
     }
 
     public static @NotNull Optional<BungeePlayer> adapt(@NotNull String name) {
-        return BUNGEE_PLAYERS.stream()
-                .filter(bp -> bp.getName().equals(name))
-                .findFirst();
+        return BUNGEE_PLAYERS.get(name);
     }
 
     public static @NotNull Optional<BungeePlayer> adapt(@NotNull UUID uuid) {
-        return BUNGEE_PLAYERS.stream()
-                .filter(bp -> bp.getUniqueId().equals(uuid))
-                .findFirst();
+        return BUNGEE_PLAYERS.get(uuid);
     }
 
     public static @NotNull BungeePlayer adapt(@NotNull ProxiedPlayer player) {
-        return BUNGEE_PLAYERS.stream()
-                .filter(bp -> bp.getPlatformPlayer()
-                        .map(p -> p.getUniqueId().equals(player.getUniqueId()))
-                        .orElse(false))
-                .findFirst()
-                .orElseGet(() -> new BungeePlayer(player));
+        return BUNGEE_PLAYERS.computeIfAbsent(player.getUniqueId(), uuid -> new BungeePlayer(player));
     }
 
     public static @NotNull Optional<BungeePlayer> adapt(@NotNull BAFKPlayer<?> player) {
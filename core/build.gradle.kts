@@ -16,4 +16,12 @@ dependencies {
     implementation(libs.snakeYaml)
     api(libs.slf4j)
     api(libs.logback)
+
+    testImplementation(platform(libs.junitBom))
+    testImplementation(libs.junitJupiter)
+    testRuntimeOnly(libs.junitPlatformLauncher)
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
@@ -9,11 +9,13 @@ import net.fameless.core.caption.Caption;
 import net.fameless.core.command.framework.Command;
 import net.fameless.core.config.Config;
 import net.fameless.core.detection.autoclicker.AutoClickerDetector;
-import net.fameless.core.detection.history.DetectionHistoryManager;
+import net.fameless.core.detection.history.DetectionStore;
 import net.fameless.core.detection.movementpattern.MovementPatternDetection;
 import net.fameless.core.handling.AFKHandler;
 import net.fameless.core.handling.Action;
 import net.fameless.core.network.NettyServerBootstrap;
+import net.fameless.core.network.OutboundPacketSender;
+import net.fameless.core.player.PlayerLifecycleService;
 import net.fameless.core.tab.TabPlaceholder;
 import net.fameless.core.util.ColorUtil;
 import net.fameless.core.util.PluginUpdater;
@@ -66,7 +68,7 @@ public class BungeeAFK {
         afkHandler = injector.getInstance(AFKHandler.class);
         autoClickerDetector = new AutoClickerDetector();
         movementPatternDetection = new MovementPatternDetection();
-        DetectionHistoryManager.loadDetections();
+        DetectionStore.getInstance().init();
 
         checkForMisconfiguration();
 
@@ -95,6 +97,7 @@ public class BungeeAFK {
         } catch (InterruptedException e) {
             throw new RuntimeException("Error while initializing netty Socket", e);
         }
+        OutboundPacketSender.getInstance().getRegistry().refreshServerAddresses();
 
         try {
             TabAPI.getInstance();
@@ -110,7 +113,7 @@ public class BungeeAFK {
     public static void handleShutdown() {
         if (!initialized) return;
         Caption.saveToFile();
-        DetectionHistoryManager.saveDetections();
+        DetectionStore.getInstance().shutdown();
         if (Config.getInstance().getConfigRegistry().hasConfigFileChanged()) {
             if (!Config.getInstance().getBoolean("overwrite-file-changes", true)) {
                 logger.info("Configuration file changed on disk during runtime - skipping save to avoid overwriting external edits");
@@ -120,6 +123,7 @@ public class BungeeAFK {
             }
         } else Config.getInstance().saveConfigAsync();
         afkHandler.shutdown();
+        PlayerLifecycleService.getInstance().shutdown();
         NettyServerBootstrap.shutdownServer();
         ExpirableMap.shutdownScheduler();
         ExpirableSet.shutdownScheduler();
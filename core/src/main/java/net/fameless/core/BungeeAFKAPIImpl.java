@@ -2,10 +2,13 @@ package net.fameless.core;
 
 import com.google.gson.JsonArray;
 import net.fameless.api.exception.PlayerNotFoundException;
+import net.fameless.api.model.Detection;
+import net.fameless.api.model.DetectionType;
 import net.fameless.api.model.Player;
 import net.fameless.api.service.BackendAPI;
 import net.fameless.core.adapter.APIAdapter;
 import net.fameless.core.config.Config;
+import net.fameless.core.detection.history.DetectionStore;
 import net.fameless.core.handling.AFKHandler;
 import net.fameless.core.handling.AFKState;
 import net.fameless.core.player.BAFKPlayer;
@@ -14,6 +17,8 @@ import net.fameless.core.region.RegionService;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+
 public class BungeeAFKAPIImpl extends BackendAPI {
 
     private final AFKHandler afkHandler;
@@ -101,7 +106,7 @@ public class BungeeAFKAPIImpl extends BackendAPI {
 
     @Override
     public boolean isMovementPatternDetectionEnabled() {
-        return Config.getInstance().getBoolean("movement-pattern.enabled", true);
+        return Config.getInstance().getSnapshot().movementPattern().enabled();
     }
 
     @Override
@@ -112,7 +117,7 @@ public class BungeeAFKAPIImpl extends BackendAPI {
 
     @Override
     public boolean isAutoClickerDetectionEnabled() {
-        return Config.getInstance().getBoolean("auto-clicker.enabled", true);
+        return Config.getInstance().getSnapshot().autoClicker().enabled();
     }
 
     @Override
@@ -140,4 +145,34 @@ public class BungeeAFKAPIImpl extends BackendAPI {
     public Object getConfigValue(String key) {
         return Config.getInstance().getValue(key);
     }
+
+    @Override
+    public List<Detection> getDetections(DetectionType type, int offset, int limit) {
+        return APIAdapter.adaptDetections(DetectionStore.getInstance().getDetections(APIAdapter.adapt(type), offset, limit));
+    }
+
+    @Override
+    public List<Detection> getDetections(@NotNull Player player, DetectionType type, int offset, int limit) {
+        return APIAdapter.adaptDetections(DetectionStore.getInstance().getDetectionsByPlayer(player.uuid(), APIAdapter.adapt(type), offset, limit));
+    }
+
+    @Override
+    public List<Detection> getDetections(String playerName, DetectionType type, int offset, int limit) {
+        return APIAdapter.adaptDetections(DetectionStore.getInstance().getDetectionsByPlayer(playerName, APIAdapter.adapt(type), offset, limit));
+    }
+
+    @Override
+    public List<Detection> getDetectionsOnServer(String serverName, DetectionType type, int offset, int limit) {
+        return APIAdapter.adaptDetections(DetectionStore.getInstance().getDetectionsByServer(serverName, APIAdapter.adapt(type), offset, limit));
+    }
+
+    @Override
+    public List<Detection> getDetectionsBetween(long from, long to, DetectionType type, int offset, int limit) {
+        return APIAdapter.adaptDetections(DetectionStore.getInstance().getDetectionsBetween(from, to, APIAdapter.adapt(type), offset, limit));
+    }
+
+    @Override
+    public int getDetectionCount(@NotNull Player player, DetectionType type) {
+        return DetectionStore.getInstance().getDetectionCount(player.uuid(), APIAdapter.adapt(type));
+    }
 }
@@ -1,7 +1,9 @@
 package net.fameless.core;
 
 
+import java.net.InetSocketAddress;
 import java.util.List;
+import java.util.Optional;
 
 public interface BungeeAFKPlatform {
 
@@ -9,6 +11,12 @@ public interface BungeeAFKPlatform {
 
     List<String> getServers();
 
+    /**
+     * @return the configured address of the server, or empty if the server does not exist or is not reachable
+     * through a network address
+     */
+    Optional<InetSocketAddress> getServerAddress(String serverName);
+
     ServerEnvironment getServerEnvironment();
 
 }
@@ -2,11 +2,15 @@ package net.fameless.core.adapter;
 
 import net.fameless.api.exception.PlayerNotFoundException;
 import net.fameless.api.model.Player;
+import net.fameless.core.detection.history.Detection;
+import net.fameless.core.detection.history.DetectionType;
 import net.fameless.core.handling.AFKState;
 import net.fameless.core.player.BAFKPlayer;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 public class APIAdapter {
@@ -28,6 +32,26 @@ public class APIAdapter {
         return net.fameless.api.model.AFKState.valueOf(afkState.name());
     }
 
+    @Contract("null -> null; !null -> !null")
+    public static @Nullable DetectionType adapt(net.fameless.api.model.@Nullable DetectionType type) {
+        return type == null ? null : DetectionType.valueOf(type.name());
+    }
+
+    @Contract("_ -> new")
+    public static net.fameless.api.model.@NotNull Detection adapt(@NotNull Detection detection) {
+        return new net.fameless.api.model.Detection(
+                net.fameless.api.model.DetectionType.valueOf(detection.type().name()),
+                detection.timestamp(),
+                detection.serverName(),
+                detection.playerName(),
+                detection.playerId()
+        );
+    }
+
+    public static @NotNull List<net.fameless.api.model.Detection> adaptDetections(@NotNull List<Detection> detections) {
+        return detections.stream().map(APIAdapter::adapt).toList();
+    }
+
     @Contract(pure = true)
     public static @NotNull Consumer<Player> adaptModelConsumer(@NotNull Consumer<BAFKPlayer<?>> consumer) {
         return player -> {
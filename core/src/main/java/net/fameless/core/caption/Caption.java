@@ -6,7 +6,6 @@ import net.fameless.core.util.PluginPaths;
 import net.fameless.core.util.ResourceUtil;
 import net.fameless.core.util.StringUtil;
 import net.kyori.adventure.text.Component;
-import net.kyori.adventure.text.minimessage.MiniMessage;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -26,6 +25,7 @@ public final class Caption {
 
     private static final Logger logger = LoggerFactory.getLogger("BungeeAFK/" + Caption.class.getSimpleName());
     private static final HashMap<String, JsonObject> languageJsonObjectHashMap = new HashMap<>();
+    private static final CaptionCache cache = new CaptionCache();
     private static String currentLanguage;
     private static final Gson gson = new GsonBuilder()
             .setPrettyPrinting()
@@ -37,21 +37,22 @@ public final class Caption {
     }
 
     public static @Nullable Component of(String key, TagResolver... replacements) {
-        String message = getString(key);
-        if (Config.getInstance().getStringList("suppressed-messages").contains(key) || message.isEmpty()) {
+        if (Config.getInstance().getSnapshot().suppressedMessages().contains(key)) {
             return null;
         }
-        message = message.replace("<prefix>", getString("prefix"));
-        return MiniMessage.miniMessage().deserialize(message, replacements);
+        String language = currentLanguage;
+        return cache.render(language, key, k -> getString(language, k).replace("<prefix>", getString(language, "prefix")), replacements);
     }
 
     public static void setJsonObject(String language, JsonObject jsonObject) {
         if (!languageJsonObjectHashMap.containsKey(language)) return;
         languageJsonObjectHashMap.put(language, jsonObject);
+        cache.invalidate(language);
     }
 
     public static void loadLanguageFiles() {
         logger.info("Loading language files...");
+        cache.invalidateAll();
 
         Path langDir = PluginPaths.getLangDir();
         try {
@@ -110,11 +111,7 @@ public final class Caption {
     }
 
     public static String getString(String key) {
-        JsonObject langObject = getCurrentJsonObject();
-        if (!langObject.has(key)) {
-            return "<prefix><red>Error - No such key: " + key;
-        }
-        return langObject.get(key).getAsString();
+        return getString(currentLanguage, key);
     }
 
     public static String getString(String language, String key) {
@@ -152,6 +149,7 @@ public final class Caption {
         if (newLanguage.equals(currentLanguage)) return;
         if (!existsLanguage(newLanguage)) return;
         currentLanguage = newLanguage.toLowerCase(Locale.US);
+        cache.invalidateAll();
         Config.getInstance().set("lang", newLanguage);
     }
 
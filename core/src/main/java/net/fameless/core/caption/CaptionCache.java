@@ -0,0 +1,146 @@
+package net.fameless.core.caption;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TranslatableComponent;
+import net.kyori.adventure.text.minimessage.Context;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Inserting;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.ArgumentQueue;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import net.kyori.adventure.text.minimessage.tag.standard.StandardTags;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches the parsed component tree of every caption per language and key.
+ *
+ * <p>A caption is parsed once, with every placeholder tag replaced by a marker component. Captions without
+ * placeholders are returned from the cache as is. For captions with placeholders, the markers are replaced with the
+ * components of the given {@link Tag#inserting inserting} resolvers, which is a cheap walk over the cached tree.
+ * Captions whose placeholders cannot be substituted this way, e.g. placeholders inside hover events or resolvers
+ * other than simple inserting tags, are parsed again with the given resolvers.</p>
+ *
+ * <p>Entries are stamped with the generation of the cache they were parsed in. Invalidating increments the
+ * generation, so an entry parsed by a render that raced with an invalidation is never returned afterwards.</p>
+ */
+final class CaptionCache {
+
+    private static final String MARKER_PREFIX = "bungeeafk.caption.placeholder.";
+
+    private final Map<String, Map<String, Entry>> languages = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * @param message supplies the raw caption for a key, only invoked on a cache miss
+     *
+     * @return the rendered caption, or {@code null} if the caption is empty
+     */
+    @Nullable Component render(@NotNull String language, @NotNull String key, @NotNull Function<String, String> message,
+                              TagResolver @NotNull ... replacements) {
+        long currentGeneration = generation.get();
+        Map<String, Entry> entries = languages.computeIfAbsent(language, lang -> new ConcurrentHashMap<>());
+        Entry entry = entries.get(key);
+        if (entry == null || entry.generation != currentGeneration) {
+            Entry parsed = Entry.parse(message.apply(key), currentGeneration);
+            entry = entries.merge(key, parsed, (existing, fresh) -> existing.generation >= fresh.generation ? existing : fresh);
+        }
+
+        if (entry.message.isEmpty()) return null;
+        if (entry.placeholders == 0) return entry.template;
+        if (!entry.substitutable) return MiniMessage.miniMessage().deserialize(entry.message, replacements);
+
+        Map<String, Component> values = new HashMap<>();
+        for (TagResolver replacement : replacements) {
+            if (!(replacement instanceof TagResolver.Single single) || !(single.tag() instanceof Inserting inserting)) {
+                return MiniMessage.miniMessage().deserialize(entry.message, replacements);
+            }
+            values.putIfAbsent(single.key(), inserting.value());
+        }
+        return substitute(entry.template, values);
+    }
+
+    void invalidate(@NotNull String language) {
+        generation.incrementAndGet();
+        languages.remove(language);
+    }
+
+    void invalidateAll() {
+        generation.incrementAndGet();
+        languages.clear();
+    }
+
+    private static @NotNull Component substitute(@NotNull Component component, @NotNull Map<String, Component> values) {
+        List<Component> children = component.children();
+        List<Component> substituted = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component replaced = substitute(child, values);
+            if (replaced != child && substituted == null) {
+                substituted = new ArrayList<>(children);
+            }
+            if (substituted != null) substituted.set(i, replaced);
+        }
+        Component result = substituted != null ? component.children(substituted) : component;
+
+        if (result instanceof TranslatableComponent marker && marker.key().startsWith(MARKER_PREFIX)) {
+            String name = marker.key().substring(MARKER_PREFIX.length());
+            Component value = values.get(name);
+            if (value == null) {
+                // Unresolved placeholders are kept as plain text, as MiniMessage does
+                value = Component.text("<" + name + ">");
+            }
+            // Content after an inserting tag becomes a child of the inserted component
+            List<Component> merged = new ArrayList<>(value.children());
+            merged.addAll(marker.children());
+            return value.children(merged);
+        }
+        return result;
+    }
+
+    private static int countMarkers(@NotNull Component component) {
+        int count = component instanceof TranslatableComponent marker && marker.key().startsWith(MARKER_PREFIX) ? 1 : 0;
+        for (Component child : component.children()) {
+            count += countMarkers(child);
+        }
+        return count;
+    }
+
+    private record Entry(String message, Component template, int placeholders, boolean substitutable, long generation) {
+
+        private static @NotNull Entry parse(@NotNull String message, long generation) {
+            MarkerResolver resolver = new MarkerResolver();
+            Component template = MiniMessage.miniMessage().deserialize(message, resolver);
+            // Markers outside the children, e.g. in hover events, cannot be substituted
+            return new Entry(message, template, resolver.created, countMarkers(template) == resolver.created, generation);
+        }
+    }
+
+    /**
+     * Resolves every tag that is not a standard tag to a marker component.
+     */
+    private static final class MarkerResolver implements TagResolver {
+
+        private int created = 0;
+
+        @Override
+        public @Nullable Tag resolve(@NotNull String name, @NotNull ArgumentQueue arguments, @NotNull Context ctx) {
+            if (arguments.hasNext()) return null;
+            created++;
+            return Tag.inserting(Component.translatable(MARKER_PREFIX + name));
+        }
+
+        @Override
+        public boolean has(@NotNull String name) {
+            return !StandardTags.defaults().has(name);
+        }
+    }
+}
@@ -8,12 +8,17 @@ import net.fameless.core.command.framework.Command;
 import net.fameless.core.command.framework.CommandCaller;
 import net.fameless.core.config.Config;
 import net.fameless.core.detection.autoclicker.ActionOnDetection;
-import net.fameless.core.detection.history.Detection;
+import net.fameless.core.detection.history.DetectionStore;
 import net.fameless.core.detection.history.DetectionType;
 import net.fameless.core.handling.AFKHandler;
 import net.fameless.core.handling.Action;
 import net.fameless.core.handling.BroadcastStrategy;
+import net.fameless.core.handling.TickPipeline;
+import net.fameless.core.network.ChannelState;
+import net.fameless.core.network.InboundEventQueue;
+import net.fameless.core.network.OutboundPacketSender;
 import net.fameless.core.player.BAFKPlayer;
+import net.fameless.core.player.PlayerLifecycleService;
 import net.fameless.core.region.MockRegion;
 import net.fameless.core.region.Region;
 import net.fameless.core.region.RegionService;
@@ -26,15 +31,19 @@ import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 public class MainCommand extends Command {
 
+    // Number of most recent detections listed by the detection-history subcommands
+    private static final int DETECTION_HISTORY_LIMIT = 25;
+
     public MainCommand() {
         super(
                 "bungeeafk",
                 List.of("bafk"),
                 CallerType.NONE,
-                "/bungeeafk <lang|configure|region|auto-clicker> <suppressed-messages|reload|<land>|allow-bypass|warning-delay|afk-delay|action-delay|action|caption|afk-location|reloadconfig|disable-server|enable-server|disabled-servers|enable|disable|max-cps|tolerance|toggle-bypass|bypass-permission|action> <param>",
+                "/bungeeafk <lang|configure|region|auto-clicker|status> <suppressed-messages|reload|<land>|allow-bypass|warning-delay|afk-delay|action-delay|action|caption|afk-location|reloadconfig|disable-server|enable-server|disabled-servers|enable|disable|max-cps|tolerance|toggle-bypass|bypass-permission|action> <param>",
                 "bungeeafk.command"
         );
     }
@@ -53,6 +62,10 @@ public class MainCommand extends Command {
             );
             return;
         }
+        if (args[0].equalsIgnoreCase("status")) {
+            sendStatus(caller);
+            return;
+        }
         if (args.length < 2) {
             sendUsage(caller);
             return;
@@ -461,7 +474,7 @@ public class MainCommand extends Command {
                         caller.sendMessage(Caption.of("command.region_not_found", TagResolver.resolver("region", Tag.inserting(Component.text(regionName)))));
                         return;
                     }
-                    region.toggleAfkDetection();
+                    RegionService.getInstance().toggleAfkDetection(region);
                     caller.sendMessage(Caption.of("command.region_detection_toggled",
                             TagResolver.resolver("region", Tag.inserting(Component.text(region.getRegionName()))),
                             TagResolver.resolver("afk-detection", Tag.inserting(Component.text(region.isAfkDetectionEnabled() ? "enabled" : "disabled")))
@@ -616,17 +629,19 @@ public class MainCommand extends Command {
                         return;
                     }
 
-                    List<Detection> detections = Detection.getDetectionsByPlayer(player.getName(), DetectionType.AUTO_CLICKER);
-                    if (detections.isEmpty()) {
+                    int detectionCount = DetectionStore.getInstance().getDetectionCount(player.getName(), DetectionType.AUTO_CLICKER);
+                    if (detectionCount == 0) {
                         caller.sendMessage(Caption.of("command.auto_clicker_no_detections_found", TagResolver.resolver("player", Tag.inserting(Component.text(player.getName())))));
                     } else {
-                        List<String> detectionStrings = detections.stream()
+                        List<String> detectionStrings = DetectionStore.getInstance()
+                                .getDetectionsByPlayer(player.getName(), DetectionType.AUTO_CLICKER, 0, DETECTION_HISTORY_LIMIT)
+                                .stream()
                                 .map(detection -> "- " + detection.getFriendlyString())
                                 .toList();
 
                         caller.sendMessage(Caption.of("command.auto_clicker_detection_history",
                                 TagResolver.resolver("player", Tag.inserting(Component.text(player.getName()))),
-                                TagResolver.resolver("detection-count", Tag.inserting(Component.text(detections.size()))),
+                                TagResolver.resolver("detection-count", Tag.inserting(Component.text(detectionCount))),
                                 TagResolver.resolver("detections", Tag.inserting(Component.text(String.join(",\n", detectionStrings))))
                         ));
                     }
@@ -717,17 +732,19 @@ public class MainCommand extends Command {
                         return;
                     }
 
-                    List<Detection> detections = Detection.getDetectionsByPlayer(player.getName(), DetectionType.MOVEMENT_PATTERN);
-                    if (detections.isEmpty()) {
+                    int detectionCount = DetectionStore.getInstance().getDetectionCount(player.getName(), DetectionType.MOVEMENT_PATTERN);
+                    if (detectionCount == 0) {
                         caller.sendMessage(Caption.of("command.movement_pattern_no_detections_found", TagResolver.resolver("player", Tag.inserting(Component.text(player.getName())))));
                     } else {
-                        List<String> detectionStrings = detections.stream()
+                        List<String> detectionStrings = DetectionStore.getInstance()
+                                .getDetectionsByPlayer(player.getName(), DetectionType.MOVEMENT_PATTERN, 0, DETECTION_HISTORY_LIMIT)
+                                .stream()
                                 .map(detection -> "- " + detection.getFriendlyString())
                                 .toList();
 
                         caller.sendMessage(Caption.of("command.movement_pattern_detection_history",
                                 TagResolver.resolver("player", Tag.inserting(Component.text(player.getName()))),
-                                TagResolver.resolver("detection-count", Tag.inserting(Component.text(detections.size()))),
+                                TagResolver.resolver("detection-count", Tag.inserting(Component.text(detectionCount))),
                                 TagResolver.resolver("detections", Tag.inserting(Component.text(String.join(",\n", detectionStrings))))
                         ));
                     }
@@ -740,12 +757,63 @@ public class MainCommand extends Command {
         }
     }
 
+    private void sendStatus(@NotNull CommandCaller caller) {
+        AFKHandler afkHandler = BungeeAFK.getAFKHandler();
+        TickPipeline tickPipeline = afkHandler.getTickPipeline();
+        InboundEventQueue inbound = InboundEventQueue.getInstance();
+        PlayerLifecycleService lifecycle = PlayerLifecycleService.getInstance();
+        Collection<ChannelState> channels = OutboundPacketSender.getInstance().getRegistry().states();
+
+        Component connections = Component.empty();
+        for (ChannelState state : channels) {
+            Component line = Caption.of("command.status_connection",
+                    TagResolver.resolver("address", Tag.inserting(Component.text(String.valueOf(state.getChannel().remoteAddress())))),
+                    TagResolver.resolver("port", Tag.inserting(Component.text(state.getMinecraftServerPort()))),
+                    TagResolver.resolver("buffer", Tag.inserting(Objects.requireNonNullElse(state.isWritable()
+                            ? Caption.of("command.status_writable",
+                                    TagResolver.resolver("bytes", Tag.inserting(Component.text(state.getBytesBeforeUnwritable()))))
+                            : Caption.of("command.status_not_writable",
+                                    TagResolver.resolver("bytes", Tag.inserting(Component.text(state.getBytesBeforeWritable())))),
+                            Component.empty()))),
+                    TagResolver.resolver("dropped", Tag.inserting(Component.text(state.getDroppedPackets()))),
+                    TagResolver.resolver("last-packet", Tag.inserting(Component.text(
+                            TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - state.getLastHeartbeatNanos()))))
+            );
+            if (line != null) {
+                connections = connections.append(Component.newline()).append(line);
+            }
+        }
+
+        caller.sendMessage(Caption.of("command.status",
+                TagResolver.resolver("tick-players", Tag.inserting(Component.text(tickPipeline.getLastTickSize()))),
+                TagResolver.resolver("tick-duration", Tag.inserting(Component.text(formatNanos(tickPipeline.getLastTickNanos())))),
+                TagResolver.resolver("tick-max-duration", Tag.inserting(Component.text(formatNanos(tickPipeline.getMaxTickNanos())))),
+                TagResolver.resolver("lag", Tag.inserting(Component.text(formatNanos(tickPipeline.getLastLagNanos())))),
+                TagResolver.resolver("max-lag", Tag.inserting(Component.text(formatNanos(tickPipeline.getMaxLagNanos())))),
+                TagResolver.resolver("scheduled", Tag.inserting(Component.text(afkHandler.getScheduledTransitionCount()))),
+                TagResolver.resolver("processed", Tag.inserting(Component.text(tickPipeline.getProcessedTotal()))),
+                TagResolver.resolver("inbound-queued", Tag.inserting(Component.text(inbound.getDepth()))),
+                TagResolver.resolver("inbound-max-queued", Tag.inserting(Component.text(inbound.getMaxDepth()))),
+                TagResolver.resolver("inbound-batch", Tag.inserting(Component.text(inbound.getLastBatchSize()))),
+                TagResolver.resolver("inbound-processed", Tag.inserting(Component.text(inbound.getProcessedTotal()))),
+                TagResolver.resolver("online", Tag.inserting(Component.text(lifecycle.getOnlinePlayerCount()))),
+                TagResolver.resolver("tracked", Tag.inserting(Component.text(lifecycle.getTrackedPlayerCount()))),
+                TagResolver.resolver("pending-unload", Tag.inserting(Component.text(lifecycle.getPendingUnloadCount()))),
+                TagResolver.resolver("connection-count", Tag.inserting(Component.text(channels.size()))),
+                TagResolver.resolver("connections", Tag.inserting(connections))
+        ));
+    }
+
+    private static @NotNull String formatNanos(long nanos) {
+        return String.format(Locale.ROOT, "%.2f ms", nanos / 1_000_000d);
+    }
+
     @Override
     protected List<String> tabComplete(CommandCaller caller, String @NotNull [] args) {
         List<String> completions = new ArrayList<>();
         switch (args.length) {
             case 1 ->
-                    completions.addAll(Arrays.asList("configure", "lang", "region", "auto-clicker", "movement-pattern"));
+                    completions.addAll(Arrays.asList("configure", "lang", "region", "auto-clicker", "movement-pattern", "status"));
             case 2 -> {
                 switch (args[0].toLowerCase()) {
                     case "configure" -> {
@@ -816,13 +884,7 @@ public class MainCommand extends Command {
                                 }
                             }
                             case "detection-history" -> {
-                                List<String> players = Detection.getDetections()
-                                        .stream()
-                                        .filter(d -> d.type() == DetectionType.AUTO_CLICKER)
-                                        .map(Detection::playerName)
-                                        .distinct()
-                                        .toList();
-                                completions.addAll(players);
+                                completions.addAll(DetectionStore.getInstance().getPlayerNames(DetectionType.AUTO_CLICKER));
                             }
                             case "toggle-on-server" -> {
                                 if (BungeeAFK.isProxy()) {
@@ -841,13 +903,7 @@ public class MainCommand extends Command {
                                 }
                             }
                             case "detection-history" -> {
-                                List<String> players = Detection.getDetections()
-                                        .stream()
-                                        .filter(d -> d.type() == DetectionType.MOVEMENT_PATTERN)
-                                        .map(Detection::playerName)
-                                        .distinct()
-                                        .toList();
-                                completions.addAll(players);
+                                completions.addAll(DetectionStore.getInstance().getPlayerNames(DetectionType.MOVEMENT_PATTERN));
                             }
                             case "toggle-on-server" -> {
                                 if (BungeeAFK.isProxy()) {
@@ -5,6 +5,7 @@ import net.fameless.core.config.adapter.RegionTypeAdapter;
 import net.fameless.core.config.adapter.TypeAdapter;
 import net.fameless.core.config.adapter.TypeAdapterRegistry;
 import net.fameless.core.network.OutboundPacketSender;
+import net.fameless.core.player.BAFKPlayer;
 import net.fameless.core.region.Region;
 import net.fameless.core.util.PluginPaths;
 import net.fameless.core.util.ResourceUtil;
@@ -35,6 +36,7 @@ public class Config {
 
     private final Map<String, Object> defaultData;
     private volatile Map<String, Object> data = Collections.emptyMap();
+    private volatile ConfigSnapshot snapshot;
     private volatile ConfigRegistry configRegistry;
 
     private final boolean initialized;
@@ -56,7 +58,9 @@ public class Config {
             if (loadedData == null) loadedData = new HashMap<>();
 
             this.data = deepUnmodifiable(loadedData);
+            this.snapshot = ConfigSnapshot.of(this);
             this.configRegistry = new ConfigRegistry(data);
+            BAFKPlayer.invalidateAllBypassStates();
 
             checkMissingKeys();
 
@@ -133,6 +137,8 @@ public class Config {
 
             if (!this.data.equals(newData)) {
                 this.data = deepUnmodifiable(newData);
+                this.snapshot = ConfigSnapshot.of(this);
+                BAFKPlayer.invalidateAllBypassStates();
                 OutboundPacketSender.getInstance().sendConfigurationPacket();
             }
         }
@@ -183,6 +189,7 @@ public class Config {
         BungeeAFK.getAFKHandler().reloadConfigValues();
         BungeeAFK.getAutoClickerDetector().reloadConfigValues();
         BungeeAFK.getMovementPatternDetection().reloadConfigValues();
+        OutboundPacketSender.getInstance().getRegistry().refreshServerAddresses();
         logger.info("Reload complete");
     }
 
@@ -294,6 +301,13 @@ public class Config {
         return getValue(key) != null;
     }
 
+    /**
+     * @return the typed snapshot of the current config data; replaced as a whole whenever the data changes
+     */
+    public @NotNull ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
     public TypeAdapterRegistry getTypeAdapterRegistry() {
         return typeAdapterRegistry;
     }
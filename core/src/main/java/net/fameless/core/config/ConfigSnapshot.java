@@ -0,0 +1,116 @@
+package net.fameless.core.config;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Typed, immutable view of the config values that are read on hot paths.
+ *
+ * <p>A snapshot is built once whenever the config data changes and published by {@link Config#getSnapshot()},
+ * so readers never split keys or traverse the YAML maps. Values that are missing or invalid fall back to the
+ * same defaults the individual lookups used.</p>
+ */
+public record ConfigSnapshot(
+        long warningDelayMillis,
+        long afkDelayMillis,
+        long actionDelayMillis,
+        long unloadGracePeriodMillis,
+        @NotNull String action,
+        @NotNull String afkServerName,
+        @NotNull String broadcastStrategy,
+        boolean actionbar,
+        long actionbarRefreshIntervalMillis,
+        boolean allowBypass,
+        boolean reduceSimulationDistance,
+        @NotNull Set<String> disabledServers,
+        @NotNull Set<String> suppressedMessages,
+        @NotNull AutoClicker autoClicker,
+        @NotNull MovementPattern movementPattern,
+        @NotNull DetectionHistory detectionHistory
+) {
+
+    public record AutoClicker(
+            boolean enabled,
+            boolean allowBypass,
+            boolean notifyPlayer,
+            @NotNull String notifyPermission,
+            @NotNull String action,
+            int sampleSize,
+            int consecutiveDetections,
+            int stddevThresholdMillis,
+            int minClickIntervalMillis
+    ) {
+    }
+
+    public record MovementPattern(
+            boolean enabled,
+            boolean allowBypass,
+            @NotNull String notifyPermission,
+            @NotNull String action,
+            @NotNull Set<String> disabledServers,
+            double certaintyThreshold,
+            int sampleSize,
+            int clearAfterSeconds
+    ) {
+    }
+
+    public record DetectionHistory(
+            long retentionMillis,
+            int maxEntries
+    ) {
+    }
+
+    static @NotNull ConfigSnapshot of(@NotNull Config config) {
+        return new ConfigSnapshot(
+                config.getInt("warning-delay", 300) * 1000L,
+                config.getInt("afk-delay", 600) * 1000L,
+                config.getInt("action-delay", 630) * 1000L,
+                Math.max(0, config.getInt("unload-grace-period", 60)) * 1000L,
+                config.getString("action", ""),
+                config.getString("afk-server-name", ""),
+                config.getString("broadcast-strategy", "PER_SERVER"),
+                config.getBoolean("actionbar", true),
+                Math.max(1, config.getInt("actionbar-refresh-interval", 2)) * 1000L,
+                config.getBoolean("allow-bypass", true),
+                config.getBoolean("reduce-simulation-distance", false),
+                stringSet(config.getStringList("disabled-servers")),
+                stringSet(config.getStringList("suppressed-messages")),
+                new AutoClicker(
+                        config.getBoolean("auto-clicker.enabled", true),
+                        config.getBoolean("auto-clicker.allow-bypass", true),
+                        config.getBoolean("auto-clicker.notify-player", true),
+                        config.getString("auto-clicker.notify-permission", "bungeeafk.autoclicker.notify"),
+                        config.getString("auto-clicker.action", "kick"),
+                        config.getInt("auto-clicker.sample-size", 20),
+                        config.getInt("auto-clicker.consecutive-detections", 3),
+                        config.getInt("auto-clicker.stddev-threshold", 50),
+                        config.getInt("auto-clicker.min-click-interval", 50)
+                ),
+                new MovementPattern(
+                        config.getBoolean("movement-pattern.enabled", true),
+                        config.getBoolean("movement-pattern.allow-bypass", true),
+                        config.getString("movement-pattern.notify-permission", "bungeeafk.movement-pattern.notify"),
+                        config.getString("movement-pattern.action", "kick"),
+                        stringSet(config.getStringList("movement-pattern.disabled-servers")),
+                        config.getDouble("movement-pattern.certainty-threshold", 0.9),
+                        config.getInt("movement-pattern.sample-size", 5),
+                        Math.max(0, config.getInt("movement-pattern.clear-after", 600))
+                ),
+                new DetectionHistory(
+                        Math.max(0, config.getInt("detection-history.retention-days", 90)) * 86_400_000L,
+                        Math.max(0, config.getInt("detection-history.max-entries", 50000))
+                )
+        );
+    }
+
+    private static @NotNull Set<String> stringSet(@NotNull List<?> list) {
+        // YAML lists may contain non-string scalars such as server names made up of digits only
+        return Set.copyOf(list.stream()
+                .filter(Objects::nonNull)
+                .map(String::valueOf)
+                .toList());
+    }
+}
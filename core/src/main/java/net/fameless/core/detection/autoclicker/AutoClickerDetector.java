@@ -6,11 +6,14 @@ import net.fameless.core.BungeeAFK;
 import net.fameless.core.adapter.APIAdapter;
 import net.fameless.core.caption.Caption;
 import net.fameless.core.config.Config;
+import net.fameless.core.config.ConfigSnapshot;
 import net.fameless.core.detection.history.Detection;
+import net.fameless.core.detection.history.DetectionStore;
 import net.fameless.core.detection.history.DetectionType;
 import net.fameless.core.player.BAFKPlayer;
-import net.fameless.core.util.DetectionUtil;
+import net.fameless.core.player.PlayerLifecycleService;
 import net.fameless.core.util.PlayerFilters;
+import net.fameless.core.util.RollingStatistics;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
@@ -18,7 +21,8 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.*;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
@@ -26,17 +30,16 @@ public class AutoClickerDetector {
 
     private static final Logger logger = LoggerFactory.getLogger("BungeeAFK/" + AutoClickerDetector.class.getSimpleName());
 
-    private final Map<BAFKPlayer<?>, Deque<Long>> playerClickTimes = new ConcurrentHashMap<>();
-    private final Map<BAFKPlayer<?>, Integer> detectionStreaks = new ConcurrentHashMap<>();
+    private final Map<BAFKPlayer<?>, ClickState> clickStates = new ConcurrentHashMap<>();
 
     private final Consumer<BAFKPlayer<?>> defaultActionOnDetection;
-    private int sampleSize;
-    private int consecutiveDetectionsRequired;
-    private int stddevThresholdMillis;
-    private int minClickIntervalMillis;
-    private List<String> disabledServers;
-    boolean allowBypass;
-    boolean enabled;
+    private volatile int sampleSize;
+    private volatile int consecutiveDetectionsRequired;
+    private volatile int stddevThresholdMillis;
+    private volatile int minClickIntervalMillis;
+    private volatile Set<String> disabledServers;
+    volatile boolean allowBypass;
+    volatile boolean enabled;
 
     public AutoClickerDetector() {
         if (BungeeAFK.getAutoClickerDetector() != null) {
@@ -45,9 +48,11 @@ public class AutoClickerDetector {
         logger.info("Initializing AutoClickerDetector...");
 
         reloadConfigValues();
+        PlayerLifecycleService.getInstance().addUnloadListener(clickStates::remove);
 
         this.defaultActionOnDetection = player -> {
-            String notifyPermission = Config.getInstance().getString("auto-clicker.notify-permission", "bungeeafk.autoclicker.notify");
+            ConfigSnapshot.AutoClicker config = Config.getInstance().getSnapshot().autoClicker();
+            String notifyPermission = config.notifyPermission();
             if (logger.isWarnEnabled()) {
                 logger.warn("Auto-clicker detected for player: {}", player.getName());
             }
@@ -61,11 +66,11 @@ public class AutoClickerDetector {
                             TagResolver.resolver("player", Tag.inserting(Component.text(player.getName())))
                     )));
 
-            if (Config.getInstance().getBoolean("auto-clicker.notify-player", true)) {
+            if (config.notifyPlayer()) {
                 player.sendMessage(Caption.of("notification.auto_clicker_detected_player"));
             }
 
-            String actionIdentifier = Config.getInstance().getString("auto-clicker.action", "kick");
+            String actionIdentifier = config.action();
             ActionOnDetection action = ActionOnDetection.existsByIdentifier(actionIdentifier)
                     ? ActionOnDetection.fromIdentifier(actionIdentifier)
                     : ActionOnDetection.KICK;
@@ -80,69 +85,95 @@ public class AutoClickerDetector {
     }
 
     public void reloadConfigValues() {
-        sampleSize = Config.getInstance().getInt("auto-clicker.sample-size", 20);
-        consecutiveDetectionsRequired = Config.getInstance().getInt("auto-clicker.consecutive-detections", 3);
-        stddevThresholdMillis = Config.getInstance().getInt("auto-clicker.stddev-threshold", 50);
-        minClickIntervalMillis = Config.getInstance().getInt("auto-clicker.min-click-interval", 50);
-        disabledServers = Config.getInstance().getStringList("disabled-servers");
-        allowBypass = Config.getInstance().getBoolean("auto-clicker.allow-bypass", true);
-        enabled = Config.getInstance().getBoolean("auto-clicker.enabled", true);
+        ConfigSnapshot snapshot = Config.getInstance().getSnapshot();
+        ConfigSnapshot.AutoClicker config = snapshot.autoClicker();
+        sampleSize = config.sampleSize();
+        consecutiveDetectionsRequired = config.consecutiveDetections();
+        stddevThresholdMillis = config.stddevThresholdMillis();
+        minClickIntervalMillis = config.minClickIntervalMillis();
+        disabledServers = snapshot.disabledServers();
+        allowBypass = config.allowBypass();
+        enabled = config.enabled();
+        // Samples were collected with the previous sample size and thresholds
+        clickStates.clear();
     }
 
-    public synchronized void registerClick(BAFKPlayer<?> player) {
+    public void registerClick(BAFKPlayer<?> player) {
         if (!enabled) return;
         if (allowBypass && player.hasPermission("bungeeafk.autoclicker.bypass")) return;
         if (disabledServers.contains(player.getCurrentServerName())) return;
 
         long now = System.currentTimeMillis();
-        playerClickTimes.computeIfAbsent(player, k -> new ArrayDeque<>()).add(now);
-
-        Deque<Long> clicks = playerClickTimes.get(player);
-        if (clicks.size() > sampleSize) {
-            clicks.pollFirst();
+        ClickState state = clickStates.computeIfAbsent(player, k -> new ClickState(sampleSize));
+
+        boolean impossibleSpeed;
+        boolean consistentSpeed;
+        int streak;
+        String intervals;
+        synchronized (state) {
+            if (!state.addClick(now, minClickIntervalMillis)) return;
+            if (!state.intervals.isFull()) return;
+
+            impossibleSpeed = state.fastIntervals > 0;
+            consistentSpeed = !impossibleSpeed && state.intervals.stdDev() < stddevThresholdMillis;
+            streak = consistentSpeed ? ++state.streak : (state.streak = 0);
+            if (!impossibleSpeed && streak < consecutiveDetectionsRequired) return;
+            intervals = state.intervals.toString();
         }
 
-        if (clicks.size() >= sampleSize) {
-            List<Long> intervals = new ArrayList<>(sampleSize - 1);
-            Iterator<Long> iterator = clicks.iterator();
-            long prev = iterator.next();
-            while (iterator.hasNext()) {
-                long current = iterator.next();
-                intervals.add(current - prev);
-                prev = current;
-            }
-
-            double stdDev = DetectionUtil.calculateStdDev(intervals);
-
-            boolean impossibleSpeed = intervals.stream().anyMatch(i -> i < minClickIntervalMillis);
-            if (impossibleSpeed) {
-                logger.info("Auto-clicker detected for player {}: impossible click speed detected (intervals: {})",
-                        player.getName(), intervals);
-                autoClickerDetected(player);
-                return;
-            }
-
-            if (stdDev < stddevThresholdMillis) {
-                int streak = detectionStreaks.merge(player, 1, Integer::sum);
-
-                if (streak >= consecutiveDetectionsRequired) {
-                    logger.info("Auto-clicker detected for player {}: consistent click speed detected (streak: {}, intervals: {})",
-                            player.getName(), streak, intervals);
-                    autoClickerDetected(player);
-                }
-            } else {
-                detectionStreaks.remove(player);
-            }
+        if (impossibleSpeed) {
+            logger.info("Auto-clicker detected for player {}: impossible click speed detected (intervals: {})",
+                    player.getName(), intervals);
+        } else {
+            logger.info("Auto-clicker detected for player {}: consistent click speed detected (streak: {}, intervals: {})",
+                    player.getName(), streak, intervals);
         }
+        autoClickerDetected(player);
     }
 
     private void autoClickerDetected(@NotNull BAFKPlayer<?> player) {
-        new Detection(DetectionType.AUTO_CLICKER, System.currentTimeMillis(), player.getCurrentServerName(), player.getName());
-        playerClickTimes.remove(player);
-        detectionStreaks.remove(player);
+        DetectionStore.getInstance().record(new Detection(DetectionType.AUTO_CLICKER, System.currentTimeMillis(),
+                player.getCurrentServerName(), player.getName(), player.getUniqueId()));
+        clickStates.remove(player);
 
         PlayerAutoClickerDetectedEvent event = new PlayerAutoClickerDetectedEvent(APIAdapter.adapt(player), APIAdapter.adaptModelConsumer(defaultActionOnDetection));
         EventDispatcher.post(event);
         APIAdapter.adaptCoreConsumer(event.getAction()).accept(player);
     }
+
+    /**
+     * Click intervals of a single player. Guarded by its own monitor, so clicks of different players are processed
+     * independently.
+     */
+    private static class ClickState {
+
+        private final RollingStatistics intervals;
+        private long lastClick = -1;
+        private int fastIntervals = 0;
+        private int streak = 0;
+
+        private ClickState(int sampleSize) {
+            // A sample of n clicks has n - 1 intervals
+            this.intervals = new RollingStatistics(Math.max(1, sampleSize - 1));
+        }
+
+        /**
+         * @return whether an interval has been recorded, i.e. this is not the first click
+         */
+        private boolean addClick(long now, int minClickIntervalMillis) {
+            long previous = lastClick;
+            lastClick = now;
+            if (previous < 0) return false;
+
+            if (intervals.isFull() && intervals.oldest() < minClickIntervalMillis) {
+                fastIntervals--;
+            }
+            long interval = now - previous;
+            intervals.add(interval);
+            if (interval < minClickIntervalMillis) {
+                fastIntervals++;
+            }
+            return true;
+        }
+    }
 }
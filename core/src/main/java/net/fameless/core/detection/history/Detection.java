@@ -1,38 +1,15 @@
 package net.fameless.core.detection.history;
 
 import com.google.gson.JsonObject;
-import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.UnmodifiableView;
+import org.jetbrains.annotations.Nullable;
 
 import java.text.DateFormat;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Date;
-import java.util.List;
+import java.util.UUID;
 
-public record Detection(DetectionType type, long timestamp, String serverName, String playerName) {
-
-    public Detection {
-        DETECTIONS.add(this);
-    }
-
-    private static final List<Detection> DETECTIONS = new ArrayList<>();
-
-    @Contract(pure = true)
-    public static @NotNull @UnmodifiableView List<Detection> getDetections() {
-        return Collections.unmodifiableList(DETECTIONS);
-    }
-
-    public static @NotNull List<Detection> getDetectionsByPlayer(String playerName, DetectionType type) {
-        List<Detection> playerDetections = new ArrayList<>();
-        for (Detection detection : DETECTIONS) {
-            if (detection.playerName().equals(playerName) && detection.type() == type) {
-                playerDetections.add(detection);
-            }
-        }
-        return playerDetections;
-    }
+// playerId is null for detections recorded before it was stored
+public record Detection(DetectionType type, long timestamp, String serverName, String playerName, @Nullable UUID playerId) {
 
     public @NotNull String getFriendlyString() {
         return String.format("Detected %s on %s at %s",
@@ -48,6 +25,9 @@ public record Detection(DetectionType type, long timestamp, String serverName, S
         json.addProperty("timestamp", timestamp);
         json.addProperty("serverName", serverName);
         json.addProperty("playerName", playerName);
+        if (playerId != null) {
+            json.addProperty("playerId", playerId.toString());
+        }
         return json;
     }
 
@@ -56,6 +36,7 @@ public record Detection(DetectionType type, long timestamp, String serverName, S
         long timestamp = json.get("timestamp").getAsLong();
         String serverName = json.get("serverName").getAsString();
         String playerName = json.get("playerName").getAsString();
-        return new Detection(type, timestamp, serverName, playerName);
+        UUID playerId = json.has("playerId") ? UUID.fromString(json.get("playerId").getAsString()) : null;
+        return new Detection(type, timestamp, serverName, playerName, playerId);
     }
 }
@@ -0,0 +1,239 @@
+package net.fameless.core.detection.history;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Secondary indexes over the retained detections, maintained as detections are added and the oldest are removed.
+ *
+ * <p>Detections are indexed by player UUID, player name, server, type and hourly time bucket. Each index keeps its
+ * detections in insertion order, so the newest entries of a key are at the end of its series and a page is found by
+ * index arithmetic. Since only the oldest detection of the whole history is ever removed, it is also the oldest entry
+ * of every series it is part of. Names are compared case-insensitively.</p>
+ *
+ * <p>Not thread-safe, guarded by the owning {@link DetectionStore}.</p>
+ */
+class DetectionIndex {
+
+    private static final long BUCKET_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Series all = new Series();
+    private final Map<DetectionType, Series> byType = new EnumMap<>(DetectionType.class);
+    private final Map<Key, Series> byPlayerId = new HashMap<>();
+    private final Map<Key, Series> byPlayerName = new HashMap<>();
+    private final Map<Key, Series> byServer = new HashMap<>();
+    private final NavigableMap<Long, Series> byBucket = new TreeMap<>();
+
+    void add(@NotNull Detection detection) {
+        all.add(detection);
+        byType.computeIfAbsent(detection.type(), t -> new Series()).add(detection);
+        if (detection.playerId() != null) {
+            addKeyed(byPlayerId, detection.playerId(), detection);
+        }
+        addKeyed(byPlayerName, normalize(detection.playerName()), detection);
+        addKeyed(byServer, normalize(detection.serverName()), detection);
+        byBucket.computeIfAbsent(bucket(detection.timestamp()), b -> new Series()).add(detection);
+    }
+
+    /**
+     * Removes the oldest detection from every index.
+     */
+    @Nullable Detection removeOldest() {
+        if (all.isEmpty()) return null;
+
+        Detection detection = all.removeFirst();
+        removeFirst(byType, detection.type());
+        if (detection.playerId() != null) {
+            removeKeyed(byPlayerId, detection.playerId(), detection);
+        }
+        removeKeyed(byPlayerName, normalize(detection.playerName()), detection);
+        removeKeyed(byServer, normalize(detection.serverName()), detection);
+        removeFirst(byBucket, bucket(detection.timestamp()));
+        return detection;
+    }
+
+    @Nullable Detection oldest() {
+        return all.isEmpty() ? null : all.get(0);
+    }
+
+    int size() {
+        return all.size();
+    }
+
+    /**
+     * @return every detection, oldest first
+     */
+    @NotNull List<Detection> all() {
+        return all.toList();
+    }
+
+    @NotNull List<Detection> page(@Nullable DetectionType type, int offset, int limit) {
+        Series series = type == null ? all : byType.get(type);
+        return series == null ? List.of() : series.page(offset, limit);
+    }
+
+    @NotNull List<Detection> pageByPlayer(@NotNull UUID playerId, @Nullable DetectionType type, int offset, int limit) {
+        return page(byPlayerId, playerId, type, offset, limit);
+    }
+
+    @NotNull List<Detection> pageByPlayerName(@NotNull String playerName, @Nullable DetectionType type, int offset, int limit) {
+        return page(byPlayerName, normalize(playerName), type, offset, limit);
+    }
+
+    @NotNull List<Detection> pageByServer(@NotNull String serverName, @Nullable DetectionType type, int offset, int limit) {
+        return page(byServer, normalize(serverName), type, offset, limit);
+    }
+
+    /**
+     * @return the detections with {@code from <= timestamp < to}, newest first
+     */
+    @NotNull List<Detection> pageBetween(long from, long to, @Nullable DetectionType type, int offset, int limit) {
+        if (from >= to || limit <= 0) return List.of();
+
+        List<Detection> page = new ArrayList<>(Math.min(limit, 64));
+        int skipped = 0;
+        for (Series series : byBucket.subMap(bucket(from), true, bucket(to - 1), true).descendingMap().values()) {
+            for (int i = 0; i < series.size(); i++) {
+                Detection detection = series.fromNewest(i);
+                if (detection.timestamp() < from || detection.timestamp() >= to) continue;
+                if (type != null && detection.type() != type) continue;
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+                page.add(detection);
+                if (page.size() == limit) return page;
+            }
+        }
+        return page;
+    }
+
+    int countByPlayer(@NotNull UUID playerId, @Nullable DetectionType type) {
+        Series series = byPlayerId.get(new Key(playerId, type));
+        return series == null ? 0 : series.size();
+    }
+
+    int countByPlayerName(@NotNull String playerName, @Nullable DetectionType type) {
+        Series series = byPlayerName.get(new Key(normalize(playerName), type));
+        return series == null ? 0 : series.size();
+    }
+
+    /**
+     * @return the most recent name of every player with detections of the given type
+     */
+    @NotNull List<String> playerNames(@Nullable DetectionType type) {
+        List<String> names = new ArrayList<>();
+        for (Map.Entry<Key, Series> entry : byPlayerName.entrySet()) {
+            if (entry.getKey().type() == type) {
+                names.add(entry.getValue().fromNewest(0).playerName());
+            }
+        }
+        return names;
+    }
+
+    private static @NotNull List<Detection> page(@NotNull Map<Key, Series> index, @NotNull Object value,
+                                                 @Nullable DetectionType type, int offset, int limit) {
+        Series series = index.get(new Key(value, type));
+        return series == null ? List.of() : series.page(offset, limit);
+    }
+
+    // Each detection is listed under its own type and under "any type" (null)
+    private static void addKeyed(@NotNull Map<Key, Series> index, @NotNull Object value, @NotNull Detection detection) {
+        index.computeIfAbsent(new Key(value, null), k -> new Series()).add(detection);
+        index.computeIfAbsent(new Key(value, detection.type()), k -> new Series()).add(detection);
+    }
+
+    private static void removeKeyed(@NotNull Map<Key, Series> index, @NotNull Object value, @NotNull Detection detection) {
+        removeFirst(index, new Key(value, null));
+        removeFirst(index, new Key(value, detection.type()));
+    }
+
+    private static <K> void removeFirst(@NotNull Map<K, Series> index, @NotNull K key) {
+        Series series = index.get(key);
+        if (series == null) return;
+        series.removeFirst();
+        if (series.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static long bucket(long timestamp) {
+        return Math.floorDiv(timestamp, BUCKET_MILLIS);
+    }
+
+    private static @NotNull String normalize(@Nullable String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private record Key(@NotNull Object value, @Nullable DetectionType type) {
+    }
+
+    /**
+     * Detections in insertion order, removed from the head only.
+     */
+    private static final class Series {
+
+        private static final int MIN_COMPACTION_HEAD = 32;
+
+        private final ArrayList<Detection> items = new ArrayList<>();
+        private int head;
+
+        void add(@NotNull Detection detection) {
+            items.add(detection);
+        }
+
+        @NotNull Detection removeFirst() {
+            Detection detection = items.get(head);
+            items.set(head++, null);
+            // The removed prefix is dropped once it makes up half of the backing list
+            if (head >= MIN_COMPACTION_HEAD && head * 2 >= items.size()) {
+                items.subList(0, head).clear();
+                head = 0;
+            }
+            return detection;
+        }
+
+        @NotNull Detection get(int index) {
+            return items.get(head + index);
+        }
+
+        @NotNull Detection fromNewest(int index) {
+            return items.get(items.size() - 1 - index);
+        }
+
+        int size() {
+            return items.size() - head;
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        @NotNull List<Detection> page(int offset, int limit) {
+            int from = Math.max(0, offset);
+            int to = (int) Math.min(size(), (long) from + Math.max(0, limit));
+            if (from >= to) return List.of();
+
+            List<Detection> page = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                page.add(fromNewest(i));
+            }
+            return page;
+        }
+
+        @NotNull List<Detection> toList() {
+            return List.copyOf(items.subList(head, items.size()));
+        }
+    }
+}
@@ -0,0 +1,409 @@
+package net.fameless.core.detection.history;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import net.fameless.core.config.Config;
+import net.fameless.core.config.ConfigSnapshot;
+import net.fameless.core.util.PluginPaths;
+import net.fameless.core.util.SchedulerService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Keeps the history of auto clicker and movement pattern detections.
+ *
+ * <p>Recorded detections are kept in memory and appended to a JSON-lines log by a background writer, which collects
+ * them for {@link #FLUSH_DELAY_MILLIS} and forces each batch to disk. Detections from earlier runs are not read at
+ * startup, but when the history is first queried or by the first maintenance pass, which runs
+ * {@link #MAINTENANCE_DELAY_MINUTES} after startup and then every {@link #MAINTENANCE_PERIOD_MINUTES}; until then,
+ * appends go after the bytes that were present at startup.</p>
+ *
+ * <p>Queries are answered from a {@link DetectionIndex}. Once loaded, detections older than the configured retention
+ * or beyond the configured maximum are dropped from memory. When the dropped detections make up at least half of the
+ * log, it is rewritten to a temporary file and moved over the log atomically. The maintenance pass applies both, so
+ * the log is trimmed even if the history is never queried. A JSON history from an older version is merged on first
+ * load and removed after the first successful rewrite.</p>
+ */
+public class DetectionStore {
+
+    private static final Logger logger = LoggerFactory.getLogger("BungeeAFK/" + DetectionStore.class.getSimpleName());
+    private static final Gson gson = new GsonBuilder()
+            .disableHtmlEscaping()
+            .create();
+    private static final long FLUSH_DELAY_MILLIS = 1000L;
+    private static final int MIN_OBSOLETE_FOR_COMPACTION = 1024;
+    private static final long MAINTENANCE_DELAY_MINUTES = 5;
+    private static final long MAINTENANCE_PERIOD_MINUTES = 60;
+
+    private static class Holder {
+        private static final DetectionStore INSTANCE = new DetectionStore();
+    }
+
+    public static DetectionStore getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private final Path logFile = PluginPaths.getDetectionHistoryLogFile();
+    private final Path legacyFile = PluginPaths.getLegacyDetectionHistoryFile();
+
+    private final Object lock = new Object();
+    private final Object loadLock = new Object();
+    private final Object fileLock = new Object();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private volatile ScheduledFuture<?> maintenanceTask;
+
+    // Guarded by lock
+    private DetectionIndex index = new DetectionIndex();
+    private final List<Detection> pending = new ArrayList<>();
+    private int logEntries;
+    private boolean compactionRequested;
+    private volatile boolean loaded;
+
+    // Guarded by fileLock
+    private long historicLength = -1;
+    private boolean needsLineBreak;
+
+    private DetectionStore() {
+    }
+
+    /**
+     * Remembers how much of the log was written by earlier runs, without reading it, and schedules the maintenance
+     * pass.
+     */
+    public void init() {
+        synchronized (fileLock) {
+            if (historicLength >= 0) return;
+            historicLength = 0;
+            scheduleMaintenance();
+            try {
+                Files.createDirectories(logFile.getParent());
+                if (!Files.exists(logFile)) return;
+
+                try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+                    historicLength = channel.size();
+                    if (historicLength > 0) {
+                        // A crash during an append may have left a partial line, which must not swallow the next one
+                        ByteBuffer last = ByteBuffer.allocate(1);
+                        channel.read(last, historicLength - 1);
+                        needsLineBreak = last.get(0) != '\n';
+                    }
+                }
+            } catch (IOException e) {
+                logger.error("Failed to open detection history log: {}", logFile, e);
+            }
+        }
+    }
+
+    public void record(@NotNull Detection detection) {
+        synchronized (lock) {
+            index.add(detection);
+            pending.add(detection);
+            if (loaded) {
+                applyRetention();
+            }
+        }
+        scheduleFlush();
+    }
+
+    /**
+     * @return every retained detection, oldest first
+     */
+    public @NotNull List<Detection> getDetections() {
+        return query(DetectionIndex::all);
+    }
+
+    /**
+     * @param type   the type of detections to include, or null for all types
+     * @param offset the number of newest matching detections to skip
+     * @param limit  the maximum number of detections to return
+     *
+     * @return the matching detections, newest first
+     */
+    public @NotNull List<Detection> getDetections(@Nullable DetectionType type, int offset, int limit) {
+        return query(index -> index.page(type, offset, limit));
+    }
+
+    public @NotNull List<Detection> getDetectionsByPlayer(@NotNull UUID playerId, @Nullable DetectionType type, int offset, int limit) {
+        return query(index -> index.pageByPlayer(playerId, type, offset, limit));
+    }
+
+    /**
+     * Unlike {@link #getDetectionsByPlayer(UUID, DetectionType, int, int)}, this includes detections that were recorded
+     * without a UUID. Names are compared case-insensitively.
+     */
+    public @NotNull List<Detection> getDetectionsByPlayer(@NotNull String playerName, @Nullable DetectionType type, int offset, int limit) {
+        return query(index -> index.pageByPlayerName(playerName, type, offset, limit));
+    }
+
+    public @NotNull List<Detection> getDetectionsByServer(@NotNull String serverName, @Nullable DetectionType type, int offset, int limit) {
+        return query(index -> index.pageByServer(serverName, type, offset, limit));
+    }
+
+    /**
+     * @return the detections with {@code from <= timestamp < to}, newest first
+     */
+    public @NotNull List<Detection> getDetectionsBetween(long from, long to, @Nullable DetectionType type, int offset, int limit) {
+        return query(index -> index.pageBetween(from, to, type, offset, limit));
+    }
+
+    public int getDetectionCount(@NotNull UUID playerId, @Nullable DetectionType type) {
+        return query(index -> index.countByPlayer(playerId, type));
+    }
+
+    public int getDetectionCount(@NotNull String playerName, @Nullable DetectionType type) {
+        return query(index -> index.countByPlayerName(playerName, type));
+    }
+
+    /**
+     * @return the most recent name of every player with detections of the given type
+     */
+    public @NotNull List<String> getPlayerNames(@Nullable DetectionType type) {
+        return query(index -> index.playerNames(type));
+    }
+
+    private <T> T query(@NotNull Function<DetectionIndex, T> query) {
+        ensureLoaded();
+        synchronized (lock) {
+            applyRetention();
+            return query.apply(index);
+        }
+    }
+
+    /**
+     * Writes the pending detections on the calling thread, e.g. on shutdown.
+     */
+    public void shutdown() {
+        ScheduledFuture<?> task = maintenanceTask;
+        if (task != null) {
+            task.cancel(false);
+        }
+        flush();
+    }
+
+    private void scheduleMaintenance() {
+        try {
+            maintenanceTask = SchedulerService.SCHEDULED_EXECUTOR.scheduleAtFixedRate(
+                    () -> SchedulerService.VIRTUAL_EXECUTOR.execute(this::maintain),
+                    MAINTENANCE_DELAY_MINUTES, MAINTENANCE_PERIOD_MINUTES, TimeUnit.MINUTES);
+        } catch (RejectedExecutionException e) {
+            // Shutting down, the log is maintained on the next start
+        }
+    }
+
+    /**
+     * Loads the history if no query did so yet, then drops expired detections and compacts the log if needed.
+     */
+    private void maintain() {
+        try {
+            ensureLoaded();
+            flush();
+        } catch (RuntimeException e) {
+            logger.error("Error during detection history maintenance", e);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (loadLock) {
+            if (loaded) return;
+
+            List<Detection> historic = new ArrayList<>();
+            boolean migrated = readLegacy(historic);
+            int historicLines = readLog(historic);
+
+            synchronized (lock) {
+                // Detections recorded before the load were appended after the historic part of the log
+                DetectionIndex merged = new DetectionIndex();
+                historic.forEach(merged::add);
+                index.all().forEach(merged::add);
+                index = merged;
+                logEntries += historicLines;
+                compactionRequested = migrated;
+                loaded = true;
+                applyRetention();
+            }
+            logger.info("Loaded {} detections from history", historic.size());
+            if (migrated) {
+                scheduleFlush();
+            }
+        }
+    }
+
+    private boolean readLegacy(@NotNull List<Detection> into) {
+        if (!Files.exists(legacyFile)) return false;
+
+        List<Detection> legacy = new ArrayList<>();
+        try (Reader reader = Files.newBufferedReader(legacyFile)) {
+            JsonArray array = gson.fromJson(reader, JsonArray.class);
+            if (array != null) {
+                for (JsonElement element : array) {
+                    legacy.add(Detection.fromJson(element.getAsJsonObject()));
+                }
+            }
+            into.addAll(legacy);
+            logger.info("Migrating {} detections from {}", legacy.size(), legacyFile);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to read legacy detection history file: {} - Skipping migration", legacyFile, e);
+            return false;
+        }
+    }
+
+    private int readLog(@NotNull List<Detection> into) {
+        String content;
+        synchronized (fileLock) {
+            init();
+            if (historicLength <= 0) return 0;
+
+            try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(historicLength));
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer) < 0) break;
+                }
+                content = new String(buffer.array(), 0, buffer.position(), StandardCharsets.UTF_8);
+            } catch (IOException | ArithmeticException e) {
+                logger.error("Failed to read detection history log: {}", logFile, e);
+                return 0;
+            }
+        }
+
+        int lines = 0;
+        int malformed = 0;
+        for (String line : content.split("\n")) {
+            if (line.isBlank()) continue;
+            lines++;
+            try {
+                into.add(Detection.fromJson(JsonParser.parseString(line).getAsJsonObject()));
+            } catch (RuntimeException e) {
+                malformed++;
+            }
+        }
+        if (malformed > 0) {
+            logger.warn("Skipped {} malformed line(s) in detection history log: {}", malformed, logFile);
+        }
+        return lines;
+    }
+
+    private void applyRetention() {
+        ConfigSnapshot.DetectionHistory config = Config.getInstance().getSnapshot().detectionHistory();
+        if (config.retentionMillis() > 0) {
+            long cutoff = System.currentTimeMillis() - config.retentionMillis();
+            Detection oldest;
+            while ((oldest = index.oldest()) != null && oldest.timestamp() < cutoff) {
+                index.removeOldest();
+            }
+        }
+        if (config.maxEntries() > 0) {
+            while (index.size() > config.maxEntries()) {
+                index.removeOldest();
+            }
+        }
+    }
+
+    private boolean needsCompaction() {
+        int obsolete = logEntries + pending.size() - index.size();
+        return obsolete >= MIN_OBSOLETE_FOR_COMPACTION && obsolete >= index.size();
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) return;
+        try {
+            SchedulerService.SCHEDULED_EXECUTOR.schedule(() -> SchedulerService.VIRTUAL_EXECUTOR.execute(this::flush),
+                    FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down, pending detections are written by shutdown()
+            flushScheduled.set(false);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        synchronized (fileLock) {
+            init();
+
+            List<Detection> batch;
+            List<Detection> drained;
+            boolean compact;
+            synchronized (lock) {
+                if (loaded) {
+                    applyRetention();
+                }
+                compact = loaded && (compactionRequested || needsCompaction());
+                if (!compact && pending.isEmpty()) return;
+
+                drained = List.copyOf(pending);
+                pending.clear();
+                batch = compact ? index.all() : drained;
+            }
+
+            try {
+                if (compact) {
+                    Path tempFile = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+                    write(tempFile, batch, false, StandardOpenOption.TRUNCATE_EXISTING);
+                    Files.move(tempFile, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    needsLineBreak = false;
+                    synchronized (lock) {
+                        logEntries = batch.size();
+                        compactionRequested = false;
+                    }
+                    Files.deleteIfExists(legacyFile);
+                    logger.debug("Compacted detection history log to {} detections", batch.size());
+                } else {
+                    write(logFile, batch, needsLineBreak, StandardOpenOption.APPEND);
+                    needsLineBreak = false;
+                    synchronized (lock) {
+                        logEntries += batch.size();
+                    }
+                }
+            } catch (IOException e) {
+                logger.error("Failed to write detection history log: {}", logFile, e);
+                synchronized (lock) {
+                    pending.addAll(0, drained);
+                }
+            }
+        }
+    }
+
+    private static void write(@NotNull Path file, @NotNull List<Detection> detections, boolean leadingLineBreak,
+                              @NotNull OpenOption mode) throws IOException {
+        StringBuilder builder = new StringBuilder(detections.size() * 128);
+        if (leadingLineBreak) {
+            builder.append('\n');
+        }
+        for (Detection detection : detections) {
+            builder.append(gson.toJson(detection.toJson())).append('\n');
+        }
+
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(builder.toString());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
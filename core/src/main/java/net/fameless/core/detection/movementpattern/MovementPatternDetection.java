@@ -6,22 +6,28 @@ import net.fameless.core.BungeeAFK;
 import net.fameless.core.adapter.APIAdapter;
 import net.fameless.core.caption.Caption;
 import net.fameless.core.config.Config;
+import net.fameless.core.config.ConfigSnapshot;
 import net.fameless.core.detection.history.Detection;
+import net.fameless.core.detection.history.DetectionStore;
 import net.fameless.core.detection.history.DetectionType;
 import net.fameless.core.handling.AFKState;
 import net.fameless.core.player.BAFKPlayer;
-import net.fameless.core.util.DetectionUtil;
+import net.fameless.core.player.PlayerLifecycleService;
+import net.fameless.core.util.BlockKey;
 import net.fameless.core.util.Location;
 import net.fameless.core.util.MessageBroadcaster;
 import net.fameless.core.util.PlayerFilters;
+import net.fameless.core.util.RollingStatistics;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.Tag;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.*;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
@@ -29,15 +35,17 @@ public class MovementPatternDetection {
 
     private static final Logger logger = LoggerFactory.getLogger("BungeeAFK/" + MovementPatternDetection.class.getSimpleName());
 
-    private final Map<BAFKPlayer<?>, Map<Location, Deque<Long>>> playerMovementHistory = new ConcurrentHashMap<>();
+    private static final int MAX_TRACKED_BLOCKS = 128;
+
+    private final Map<BAFKPlayer<?>, MovementHistory> playerMovementHistory = new ConcurrentHashMap<>();
 
     private final Consumer<BAFKPlayer<?>> defaultActionOnDetection;
-    private double certaintyThreshold;
-    private int sampleSize;
-    private List<String> disabledServers;
-    boolean allowBypass;
-    boolean enabled;
-    int clearAfterSeconds;
+    private volatile double certaintyThreshold;
+    private volatile int sampleSize;
+    private volatile Set<String> disabledServers;
+    volatile boolean allowBypass;
+    volatile boolean enabled;
+    volatile int clearAfterSeconds;
 
     public MovementPatternDetection() {
         if (BungeeAFK.getMovementPatternDetection() != null) {
@@ -46,10 +54,11 @@ public class MovementPatternDetection {
         logger.info("Initializing MovementPatternDetection...");
 
         reloadConfigValues();
+        PlayerLifecycleService.getInstance().addUnloadListener(playerMovementHistory::remove);
         defaultActionOnDetection = player -> {
             ActionOnDetection action;
             try {
-                action = ActionOnDetection.fromIdentifier(Config.getInstance().getString("movement-pattern.action", "kick"));
+                action = ActionOnDetection.fromIdentifier(Config.getInstance().getSnapshot().movementPattern().action());
             } catch (IllegalArgumentException e) {
                 logger.error("Invalid action on movement pattern detection, defaulting to kick", e);
                 action = ActionOnDetection.KICK;
@@ -70,16 +79,15 @@ public class MovementPatternDetection {
     }
 
     public void reloadConfigValues() {
-        this.certaintyThreshold = Config.getInstance().getDouble("movement-pattern.certainty-threshold", 0.9);
-        this.sampleSize = Config.getInstance().getInt("movement-pattern.sample-size", 5);
-        this.disabledServers = Config.getInstance().getStringList("movement-pattern.disabled-servers");
-        this.allowBypass = Config.getInstance().getBoolean("movement-pattern.allow-bypass", true);
-        this.enabled = Config.getInstance().getBoolean("movement-pattern.enabled", true);
-        this.clearAfterSeconds = Config.getInstance().getInt("movement-pattern.clear-after", 600);
-
-        if (clearAfterSeconds < 0) {
-            clearAfterSeconds = 0;
-        }
+        ConfigSnapshot.MovementPattern config = Config.getInstance().getSnapshot().movementPattern();
+        this.certaintyThreshold = config.certaintyThreshold();
+        this.sampleSize = config.sampleSize();
+        this.disabledServers = config.disabledServers();
+        this.allowBypass = config.allowBypass();
+        this.enabled = config.enabled();
+        this.clearAfterSeconds = config.clearAfterSeconds();
+        // Samples were collected with the previous sample size
+        playerMovementHistory.clear();
     }
 
     public void registerMovement(@NotNull BAFKPlayer<?> player, Location location) {
@@ -87,48 +95,25 @@ public class MovementPatternDetection {
         if (disabledServers.contains(player.getCurrentServerName())) return;
         if (allowBypass && player.hasPermission("bungeeafk.movement-pattern.bypass")) return;
 
-        location = location.getBlockLocation();
         long now = System.currentTimeMillis();
-
-        Deque<Long> timestamps = playerMovementHistory
-                .computeIfAbsent(player, k -> new ConcurrentHashMap<>())
-                .computeIfAbsent(location, k -> new ArrayDeque<>());
-
-        // Remove timestamps older than clearAfterSeconds
-        if (clearAfterSeconds != 0) {
-            while (!timestamps.isEmpty() && timestamps.peekFirst() < now - clearAfterSeconds * 1000L) {
-                timestamps.pollFirst();
-            }
-        }
-
-        // If we have more than sampleSize samples, remove the oldest ones
-        while (timestamps.size() >= sampleSize) {
-            timestamps.pollFirst();
+        long blockKey = BlockKey.of(location);
+        MovementHistory history = playerMovementHistory.computeIfAbsent(player, k -> new MovementHistory(sampleSize));
+
+        double stdDev;
+        synchronized (history) {
+            RollingStatistics intervals = history.registerVisit(blockKey, now, clearAfterSeconds * 1000L);
+            // if we have enough samples, analyze the movement pattern
+            if (intervals == null || !intervals.isFull()) return;
+            stdDev = intervals.stdDev();
         }
 
-        timestamps.addLast(now);
-
-        // if we have enough samples, analyze the movement pattern
-        if (timestamps.size() >= sampleSize) {
-            List<Long> intervals = new ArrayList<>(sampleSize - 1);
-            Iterator<Long> iterator = timestamps.iterator();
-            long prev = iterator.next();
-            while (iterator.hasNext()) {
-                long current = iterator.next();
-                intervals.add(current - prev);
-                prev = current;
-            }
-
-            double stdDev = DetectionUtil.calculateStdDev(intervals);
+        // Calculate certainty based on standard deviation
+        // stddev > 1000ms -> certainty = 0
+        // stddev = 0ms -> certainty = 1
+        double certainty = Math.max(0, 1 - (stdDev / 1000.0));
 
-            // Calculate certainty based on standard deviation
-            // stddev > 1000ms -> certainty = 0
-            // stddev = 0ms -> certainty = 1
-            double certainty = Math.max(0, 1 - (stdDev / 1000.0));
-
-            if (certainty > certaintyThreshold) {
-                patternDetected(player, location, stdDev, certainty);
-            }
+        if (certainty > certaintyThreshold) {
+            patternDetected(player, location.getBlockLocation(), stdDev, certainty);
         }
     }
 
@@ -136,17 +121,102 @@ public class MovementPatternDetection {
         logger.info("Suspicious Movement Pattern Detected: Player {} @ {} | stdDev={} | certainty={}",
                 player.getName(), location, stdDev, String.format("%.2f", certainty * 100) + "%");
 
-        playerMovementHistory.get(player).clear();
-        new Detection(DetectionType.MOVEMENT_PATTERN, System.currentTimeMillis(),
-                player.getCurrentServerName(), player.getName());
+        playerMovementHistory.remove(player);
+        DetectionStore.getInstance().record(new Detection(DetectionType.MOVEMENT_PATTERN, System.currentTimeMillis(),
+                player.getCurrentServerName(), player.getName(), player.getUniqueId()));
 
         MessageBroadcaster.broadcastMessageToFiltered(Caption.of("notification.movement_pattern_detected_admin",
                         TagResolver.resolver("player", Tag.inserting(Component.text(player.getName())))),
-                PlayerFilters.hasPermission(Config.getInstance().getString("movement-pattern.notify-permission", "bungeeafk.movement-pattern.notify")),
+                PlayerFilters.hasPermission(Config.getInstance().getSnapshot().movementPattern().notifyPermission()),
                 PlayerFilters.notMatching(player));
 
         PlayerMovementPatternDetectedEvent event = new PlayerMovementPatternDetectedEvent(APIAdapter.adapt(player), APIAdapter.adaptModelConsumer(defaultActionOnDetection));
         EventDispatcher.post(event);
         APIAdapter.adaptCoreConsumer(event.getAction()).accept(player);
     }
+
+    /**
+     * Visit intervals of the blocks a player visited most recently.
+     *
+     * <p>Blocks are identified by their {@link BlockKey} and looked up with a linear scan, which is bounded by the
+     * number of tracked blocks. When all slots are in use, the least recently visited block is replaced and its
+     * statistics are reused, so the memory of a player is bounded and no allocations happen once all slots have
+     * been used. Guarded by its own monitor.</p>
+     */
+    private static class MovementHistory {
+
+        private final int sampleSize;
+        private final long[] blockKeys = new long[MAX_TRACKED_BLOCKS];
+        private final long[] lastVisit = new long[MAX_TRACKED_BLOCKS];
+        private final long[] firstVisit = new long[MAX_TRACKED_BLOCKS];
+        private final RollingStatistics[] intervals = new RollingStatistics[MAX_TRACKED_BLOCKS];
+        private int used = 0;
+
+        private MovementHistory(int sampleSize) {
+            this.sampleSize = sampleSize;
+        }
+
+        /**
+         * Records a visit of the block and drops visits older than {@code clearAfterMillis}, if positive.
+         *
+         * @return the intervals between the remaining visits of the block, or {@code null} if fewer than two
+         * visits can be sampled
+         */
+        private @Nullable RollingStatistics registerVisit(long blockKey, long now, long clearAfterMillis) {
+            if (sampleSize < 2) return null;
+
+            int slot = find(blockKey);
+            if (slot < 0) {
+                allocate(blockKey, now);
+                return null;
+            }
+
+            RollingStatistics stats = intervals[slot];
+            if (clearAfterMillis > 0 && firstVisit[slot] < now - clearAfterMillis) {
+                while (stats.size() > 0 && firstVisit[slot] < now - clearAfterMillis) {
+                    firstVisit[slot] += stats.removeOldest();
+                }
+                if (firstVisit[slot] < now - clearAfterMillis) {
+                    // Every previous visit expired, this visit starts a new sample
+                    firstVisit[slot] = now;
+                    lastVisit[slot] = now;
+                    return null;
+                }
+            }
+
+            // A full buffer drops its oldest interval, and with it the oldest visit
+            if (stats.isFull()) {
+                firstVisit[slot] += stats.oldest();
+            }
+            stats.add(now - lastVisit[slot]);
+            lastVisit[slot] = now;
+            return stats;
+        }
+
+        private int find(long blockKey) {
+            for (int i = 0; i < used; i++) {
+                if (blockKeys[i] == blockKey) return i;
+            }
+            return -1;
+        }
+
+        private int allocate(long blockKey, long now) {
+            int slot;
+            if (used < MAX_TRACKED_BLOCKS) {
+                slot = used++;
+                // A sample of n visits has n - 1 intervals
+                intervals[slot] = new RollingStatistics(sampleSize - 1);
+            } else {
+                slot = 0;
+                for (int i = 1; i < used; i++) {
+                    if (lastVisit[i] < lastVisit[slot]) slot = i;
+                }
+                intervals[slot].clear();
+            }
+            blockKeys[slot] = blockKey;
+            firstVisit[slot] = now;
+            lastVisit[slot] = now;
+            return slot;
+        }
+    }
 }
@@ -1,15 +1,13 @@
 package net.fameless.core.handling;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
 import net.fameless.core.BungeeAFK;
 import net.fameless.core.caption.Caption;
 import net.fameless.core.config.Config;
+import net.fameless.core.config.ConfigSnapshot;
 import net.fameless.core.network.OutboundPacketSender;
 import net.fameless.core.player.BAFKPlayer;
 import net.fameless.core.player.GameMode;
+import net.fameless.core.player.PlayerLifecycleService;
 import net.fameless.core.util.*;
 import net.fameless.core.util.cache.ExpirableSet;
 import net.kyori.adventure.text.Component;
@@ -19,11 +17,7 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.util.Map;
-import java.util.UUID;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -31,16 +25,16 @@ import java.util.concurrent.TimeUnit;
 public abstract class AFKHandler {
 
     protected static final Logger logger = LoggerFactory.getLogger("BungeeAFK/" + AFKHandler.class.getSimpleName());
-    private static final Gson gson = new GsonBuilder()
-            .setPrettyPrinting()
-            .disableHtmlEscaping()
-            .create();
-
-    private final Map<UUID, String> playerPreviousServerMap = new ConcurrentHashMap<>();
-    private final Map<UUID, Location> playerPreviousLocationMap = new ConcurrentHashMap<>();
-    private final Map<UUID, GameMode> playerPreviousGameModeMap = new ConcurrentHashMap<>();
+
+    private final PreviousStateStore previousStates = new PreviousStateStore();
     private final ExpirableSet<BAFKPlayer<?>> revertCooldown = new ExpirableSet<>();
     private static final long UPDATE_PERIOD_MILLIS = 500L;
+    private static final int TRANSITION_WHEEL_SLOTS = 1024;
+
+    private final TimingWheel<BAFKPlayer<?>> transitionWheel = new TimingWheel<>(TRANSITION_WHEEL_SLOTS, UPDATE_PERIOD_MILLIS);
+    private final Set<BAFKPlayer<?>> actionbarRecipients = ConcurrentHashMap.newKeySet();
+    private final ActionbarManager actionbarManager = new ActionbarManager();
+    private final TickPipeline tickPipeline = new TickPipeline(this::processPlayer);
 
     private Action action;
     private long warnDelay;
@@ -49,6 +43,8 @@ public abstract class AFKHandler {
     private BroadcastStrategy broadcastStrategy;
     private boolean actionbarEnabled;
     private final ScheduledFuture<?> scheduledTask;
+    // Only accessed by the scheduled task
+    private long nextTickNanos;
 
     public AFKHandler() {
         if (BungeeAFK.getAFKHandler() != null) throw new IllegalStateException("AFKHandler is already initialized.");
@@ -56,17 +52,35 @@ public abstract class AFKHandler {
         this.scheduledTask = SchedulerService.SCHEDULED_EXECUTOR
                 .scheduleAtFixedRate(this::run, 0, UPDATE_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
         fetchPreviousPlayerStates();
+        // Previous server, location and game mode are kept so they can be reverted when the player returns
+        PlayerLifecycleService.getInstance().addUnloadListener(player -> {
+            transitionWheel.cancel(player);
+            actionbarRecipients.remove(player);
+            actionbarManager.invalidate(player);
+            revertCooldown.removeNow(player);
+        });
         onInit();
     }
 
     private void run() {
         try {
-            BAFKPlayer.PLAYERS.stream()
+            // The task runs at a fixed rate, so each tick is due one period after the previous one
+            long scheduledStart = nextTickNanos == 0 ? System.nanoTime() : nextTickNanos;
+            nextTickNanos = scheduledStart + TimeUnit.MILLISECONDS.toNanos(UPDATE_PERIOD_MILLIS);
+
+            // Only players whose next warn/afk/action deadline has passed are processed
+            tickPipeline.execute(transitionWheel.advance().stream()
                     .filter(PlayerFilters.isOnline())
-                    .forEach(player -> {
-                        player.increaseTimeSinceLastAction(UPDATE_PERIOD_MILLIS);
-                        SchedulerService.VIRTUAL_EXECUTOR.submit(() -> processPlayer(player));
-                    });
+                    .toList(), scheduledStart);
+
+            for (BAFKPlayer<?> player : actionbarRecipients) {
+                if (player.isOffline()) {
+                    actionbarRecipients.remove(player);
+                    actionbarManager.invalidate(player);
+                    continue;
+                }
+                sendActionBar(player);
+            }
         } catch (Exception e) {
             logger.error("Error during AFK check task", e);
             scheduledTask.cancel(false);
@@ -80,29 +94,74 @@ public abstract class AFKHandler {
                 case WARNED -> setAFKIfNeeded(player);
                 case AFK -> determineAndPerformAction(player);
             }
-            revertPreviousState(player);
-            sendActionBar(player);
+            if (!revertPreviousState(player)) {
+                // Held back by the cooldown, so it is retried on the next tick. No deadline can be due earlier
+                transitionWheel.schedule(player, UPDATE_PERIOD_MILLIS);
+                return;
+            }
         } catch (Exception e) {
             logger.error("Error processing AFK checks for player {}", player.getName());
         }
+        scheduleNextTransition(player);
     }
 
-    private void revertPreviousState(@NotNull BAFKPlayer<?> player) {
-        if (revertCooldown.contains(player)) return;
-        if (player.getTimeSinceLastAction() >= actionDelay) return;
-        if (player.getAfkState().equals(AFKState.ACTION_TAKEN)) return;
+    public void scheduleNextTransition(@NotNull BAFKPlayer<?> player) {
+        AFKState state = player.getAfkState();
+        if (state == AFKState.BYPASS) {
+            // Bypass may end without any activity (e.g. leaving a bypass region), so it is re-checked every tick
+            transitionWheel.schedule(player, UPDATE_PERIOD_MILLIS);
+            return;
+        }
 
-        String afkServerName = Config.getInstance().getString("afk-server-name", "");
+        long threshold = switch (state) {
+            case ACTIVE -> warnDelay;
+            case WARNED -> afkDelay;
+            case AFK -> actionDelay;
+            default -> -1;
+        };
+        if (threshold < 0) {
+            transitionWheel.cancel(player);
+            return;
+        }
+        transitionWheel.schedule(player, threshold - player.getTimeSinceLastAction());
+    }
+
+    public void handleStateChange(@NotNull BAFKPlayer<?> player, @NotNull AFKState newState) {
+        actionbarManager.invalidate(player);
+        if (newState == AFKState.AFK || newState == AFKState.ACTION_TAKEN) {
+            actionbarRecipients.add(player);
+        } else {
+            actionbarRecipients.remove(player);
+        }
+        scheduleNextTransition(player);
+    }
+
+    private void rescheduleAll() {
+        BAFKPlayer.PLAYERS.stream()
+                .filter(PlayerFilters.isOnline())
+                .forEach(this::scheduleNextTransition);
+    }
+
+    /**
+     * @return false if a stored state could not be reverted yet because of the revert cooldown
+     */
+    private boolean revertPreviousState(@NotNull BAFKPlayer<?> player) {
+        if (player.getTimeSinceLastAction() >= actionDelay) return true;
+        if (player.getAfkState().equals(AFKState.ACTION_TAKEN)) return true;
+        if (revertCooldown.contains(player)) return !previousStates.has(player.getUniqueId());
+
+        String afkServerName = Config.getInstance().getSnapshot().afkServerName();
         if (player.getCurrentServerName().equalsIgnoreCase(afkServerName)) {
-            player.connect(playerPreviousServerMap.getOrDefault(player.getUniqueId(), "lobby"));
-            playerPreviousServerMap.remove(player.getUniqueId());
+            String previousServer = previousStates.removeServer(player.getUniqueId());
+            player.connect(previousServer != null ? previousServer : "lobby");
         }
 
-        if (playerPreviousLocationMap.containsKey(player.getUniqueId()) && playerPreviousGameModeMap.containsKey(player.getUniqueId())) {
-            player.teleport(playerPreviousLocationMap.remove(player.getUniqueId()));
-            player.updateGameMode(playerPreviousGameModeMap.remove(player.getUniqueId()));
+        if (previousStates.hasLocationAndGameMode(player.getUniqueId())) {
+            player.teleport(previousStates.removeLocation(player.getUniqueId()));
+            player.updateGameMode(previousStates.removeGameMode(player.getUniqueId()));
         }
         revertCooldown.add(player, UPDATE_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        return true;
     }
 
     private void warnIfNeeded(@NotNull BAFKPlayer<?> player) {
@@ -122,10 +181,11 @@ public abstract class AFKHandler {
                 TagResolver.resolver("action-delay", Tag.inserting(Component.text(Format.formatTime((int) (timeUntilAction / 1000)))))
         ));
 
-        MessageBroadcaster.broadcastMessageToFiltered(
+        MessageBroadcaster.broadcast(
                 Caption.of("notification.afk_broadcast",
                         TagResolver.resolver("player", Tag.inserting(Component.text(player.getName())))),
-                broadcastStrategy.broadcastFilter(player)
+                broadcastStrategy,
+                player
         );
 
         logger.info("{} is now AFK.", player.getName());
@@ -158,18 +218,15 @@ public abstract class AFKHandler {
         }
 
         String previousServer = player.getCurrentServerName();
-        String afkServerName = Config.getInstance().getString("afk-server-name", "");
+        String afkServerName = Config.getInstance().getSnapshot().afkServerName();
 
         player.connect(afkServerName)
                 .thenAccept(success -> {
                     if (success) {
-                        playerPreviousServerMap.put(player.getUniqueId(), previousServer);
+                        previousStates.putServer(player.getUniqueId(), previousServer);
                         player.sendMessage(connectMessage);
 
-                        MessageBroadcaster.broadcastMessageToFiltered(
-                                connectBroadcastMessage,
-                                broadcastStrategy.broadcastFilter(player)
-                        );
+                        MessageBroadcaster.broadcast(connectBroadcastMessage, broadcastStrategy, player);
 
                         logger.info("Moved {} to AFK server.", player.getName());
                     } else {
@@ -182,17 +239,13 @@ public abstract class AFKHandler {
     public void performKickAction(@NotNull BAFKPlayer<?> player, Component reason, Component broadcastMessage) {
         player.kick(reason);
 
-        MessageBroadcaster.broadcastMessageToFiltered(
-                broadcastMessage,
-                broadcastStrategy.broadcastFilter(player)
-        );
+        MessageBroadcaster.broadcast(broadcastMessage, broadcastStrategy, player);
 
         logger.info("Kicked {} for being AFK.", player.getName());
     }
 
     public void performTeleportAction(@NotNull BAFKPlayer<?> player, Component message) {
-        playerPreviousLocationMap.put(player.getUniqueId(), player.getLocation());
-        playerPreviousGameModeMap.put(player.getUniqueId(), player.getGameMode());
+        previousStates.putLocationAndGameMode(player.getUniqueId(), player.getLocation(), player.getGameMode());
         player.updateGameMode(GameMode.SPECTATOR);
         player.teleport(Location.getConfiguredAfkZone());
         player.sendMessage(message);
@@ -201,119 +254,72 @@ public abstract class AFKHandler {
     private void sendActionBar(@NotNull BAFKPlayer<?> player) {
         if (!actionbarEnabled) return;
         if (player.getAfkState().equals(AFKState.AFK)) {
-            player.sendActionbar(Caption.of("actionbar.afk"));
+            actionbarManager.show(player, Caption.of("actionbar.afk"));
         } else if (player.getAfkState().equals(AFKState.ACTION_TAKEN)) {
-            player.sendActionbar(Caption.of(action.equals(Action.CONNECT) ? "actionbar.afk_moved" : "actionbar.afk"));
+            actionbarManager.show(player, Caption.of(action.equals(Action.CONNECT) ? "actionbar.afk_moved" : "actionbar.afk"));
         }
     }
 
     public void fetchPreviousPlayerStates() {
-        Path playerStatesFile = ResourceUtil.extractResourceIfMissing("persisted_player_states.json", PluginPaths.getPersistedStatesFile());
-
-        JsonObject root;
-        try (var reader = Files.newBufferedReader(playerStatesFile)) {
-            root = gson.fromJson(reader, JsonObject.class);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-
-        JsonObject locationObject = root.has("location") ? root.getAsJsonObject("location") : new JsonObject();
-        JsonObject gameModeObject = root.has("game_mode") ? root.getAsJsonObject("game_mode") : new JsonObject();
-        JsonObject serverObject = root.has("server") ? root.getAsJsonObject("server") : new JsonObject();
-
-        for (Map.Entry<String, JsonElement> entry : locationObject.entrySet()) {
-            UUID playerUUID = UUID.fromString(entry.getKey());
-            JsonObject locationData = entry.getValue().getAsJsonObject();
-            playerPreviousLocationMap.put(playerUUID, new Location(
-                    locationData.get("worldName").getAsString(),
-                    locationData.get("x").getAsDouble(),
-                    locationData.get("y").getAsDouble(),
-                    locationData.get("z").getAsDouble(),
-                    locationData.get("pitch").getAsFloat(),
-                    locationData.get("yaw").getAsFloat()
-            ));
-        }
-
-        for (Map.Entry<String, JsonElement> entry : gameModeObject.entrySet()) {
-            UUID playerUUID = UUID.fromString(entry.getKey());
-            String gameModeStr = entry.getValue().getAsString();
-            try {
-                GameMode gameMode = GameMode.valueOf(gameModeStr.toUpperCase());
-                playerPreviousGameModeMap.put(playerUUID, gameMode);
-            } catch (IllegalArgumentException e) {
-                logger.warn("Invalid game mode for player {}: {}", playerUUID, gameModeStr);
-            }
-        }
-
-        for (Map.Entry<String, JsonElement> entry : serverObject.entrySet()) {
-            UUID playerUUID = UUID.fromString(entry.getKey());
-            String previousServer = entry.getValue().getAsString();
-            playerPreviousServerMap.put(playerUUID, previousServer);
-        }
+        previousStates.load();
     }
 
     public void reloadConfigValues() {
-        Config config = Config.getInstance();
-        this.warnDelay = config.getInt("warning-delay", 300) * 1000L;
-        this.afkDelay = config.getInt("afk-delay", 600) * 1000L;
-        this.actionDelay = config.getInt("action-delay", 630) * 1000L;
-        this.actionbarEnabled = config.getBoolean("actionbar", true);
+        ConfigSnapshot config = Config.getInstance().getSnapshot();
+        this.warnDelay = config.warningDelayMillis();
+        this.afkDelay = config.afkDelayMillis();
+        this.actionDelay = config.actionDelayMillis();
+        this.actionbarEnabled = config.actionbar();
+        actionbarManager.setRefreshInterval(config.actionbarRefreshIntervalMillis());
 
         try {
-            this.broadcastStrategy = BroadcastStrategy.valueOf(config.getString("broadcast-strategy", "PER_SERVER"));
+            this.broadcastStrategy = BroadcastStrategy.valueOf(config.broadcastStrategy());
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid Broadcast Strategy in config. Defaulting to 'PER_SERVER'.");
             this.broadcastStrategy = BroadcastStrategy.PER_SERVER;
         }
 
         try {
-            this.action = Action.fromIdentifier(config.getString("action", ""));
+            this.action = Action.fromIdentifier(config.action());
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid action identifier in config. Defaulting to 'KICK'.");
             this.action = Action.KICK;
         }
 
         if (action == Action.CONNECT) {
-            String serverName = config.getString("afk-server-name", "");
-            if (!BungeeAFK.getPlatform().doesServerExist(serverName)) {
+            if (!BungeeAFK.getPlatform().doesServerExist(config.afkServerName())) {
                 logger.warn("AFK server not found. Defaulting to KICK.");
                 this.action = Action.KICK;
             }
         }
+        rescheduleAll();
     }
 
     public void shutdown() {
         if (scheduledTask != null && !scheduledTask.isCancelled()) {
             scheduledTask.cancel(true);
         }
+        transitionWheel.clear();
+        actionbarRecipients.clear();
+        actionbarManager.clear();
 
-        JsonObject locationObject = new JsonObject();
-        JsonObject gameModeObject = new JsonObject();
-        JsonObject serverObject = new JsonObject();
+        // Written on this thread, as the executors may not get to run before the process exits
+        previousStates.shutdown();
+    }
 
-        for (Map.Entry<UUID, String> entry : playerPreviousServerMap.entrySet()) {
-            serverObject.addProperty(entry.getKey().toString(), entry.getValue());
-        }
-        for (Map.Entry<UUID, GameMode> entry : playerPreviousGameModeMap.entrySet()) {
-            gameModeObject.addProperty(entry.getKey().toString(), entry.getValue().name());
-        }
-        for (Map.Entry<UUID, Location> entry : playerPreviousLocationMap.entrySet()) {
-            locationObject.add(entry.getKey().toString(), entry.getValue().toJson());
-        }
+    public TickPipeline getTickPipeline() {
+        return tickPipeline;
+    }
 
-        JsonObject root = new JsonObject();
-        root.add("location", locationObject);
-        root.add("game_mode", gameModeObject);
-        root.add("server", serverObject);
-
-        SchedulerService.VIRTUAL_EXECUTOR.submit(() -> {
-            Path playerStatesFile = ResourceUtil.extractResourceIfMissing("persisted_player_states.json", PluginPaths.getPersistedStatesFile());
-            try (var writer = Files.newBufferedWriter(playerStatesFile)) {
-                gson.toJson(root, writer);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-        });
+    /**
+     * @return the number of players waiting for their next warn, AFK or action deadline
+     */
+    public int getScheduledTransitionCount() {
+        return transitionWheel.size();
+    }
+
+    public ActionbarManager getActionbarManager() {
+        return actionbarManager;
     }
 
     public BroadcastStrategy getBroadcastStrategy() {
@@ -353,16 +359,19 @@ public abstract class AFKHandler {
     public void setWarnDelayMillis(long delay) {
         this.warnDelay = delay;
         Config.getInstance().set("warning-delay", (int) (delay / 1000));
+        rescheduleAll();
     }
 
     public void setActionDelayMillis(long delay) {
         this.actionDelay = delay;
         Config.getInstance().set("action-delay", (int) (delay / 1000));
+        rescheduleAll();
     }
 
     public void setAfkDelayMillis(long delay) {
         this.afkDelay = delay;
         Config.getInstance().set("afk-delay", (int) (delay / 1000));
+        rescheduleAll();
     }
 
     protected abstract void onInit();
@@ -32,12 +32,8 @@ public enum Action {
     }
 
     public static boolean isAfkServerConfigured() {
-        if (!Config.getInstance().contains("afk-server-name")) {
-            return false;
-        }
-
-        String serverName = Config.getInstance().getString("afk-server-name");
-        if (serverName == null) return false;
+        String serverName = Config.getInstance().getSnapshot().afkServerName();
+        if (serverName.isEmpty()) return false;
         return BungeeAFK.getPlatform().doesServerExist(serverName);
     }
 
@@ -0,0 +1,62 @@
+package net.fameless.core.handling;
+
+import net.fameless.core.player.BAFKPlayer;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends actionbar messages only when they change or when the previous one is about to fade.
+ *
+ * <p>The last message sent to each player is remembered. Showing the same message again is a no-op until the
+ * refresh interval has passed, after which it is sent again to keep it visible. A different message is always sent
+ * immediately.</p>
+ */
+public class ActionbarManager {
+
+    private final Map<BAFKPlayer<?>, Sent> lastSent = new ConcurrentHashMap<>();
+    private volatile long refreshIntervalNanos = TimeUnit.SECONDS.toNanos(2);
+
+    /**
+     * Shows the message to the player, unless the same message was sent within the refresh interval.
+     *
+     * @param player  the player to show the message to
+     * @param message the message, or null to send nothing and forget the previous message
+     */
+    public void show(@NotNull BAFKPlayer<?> player, @Nullable Component message) {
+        if (message == null) {
+            lastSent.remove(player);
+            return;
+        }
+
+        long now = System.nanoTime();
+        Sent previous = lastSent.get(player);
+        if (previous != null && previous.message().equals(message) && now - previous.sentAtNanos() < refreshIntervalNanos) {
+            return;
+        }
+        player.sendActionbar(message);
+        lastSent.put(player, new Sent(message, now));
+    }
+
+    /**
+     * Forgets the message last sent to the player, so the next one is sent regardless of its content.
+     */
+    public void invalidate(@NotNull BAFKPlayer<?> player) {
+        lastSent.remove(player);
+    }
+
+    public void clear() {
+        lastSent.clear();
+    }
+
+    public void setRefreshInterval(long refreshIntervalMillis) {
+        this.refreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refreshIntervalMillis);
+    }
+
+    private record Sent(@NotNull Component message, long sentAtNanos) {
+    }
+}
@@ -1,11 +1,10 @@
 package net.fameless.core.handling;
 
 import net.fameless.core.player.BAFKPlayer;
-import net.fameless.core.util.PlayerFilters;
+import net.fameless.core.player.ServerAudiences;
+import net.kyori.adventure.audience.Audience;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.function.Predicate;
-
 public enum BroadcastStrategy {
 
     ALL,
@@ -13,13 +12,16 @@ public enum BroadcastStrategy {
     PER_SERVER,
     DISABLE;
 
-    public @NotNull Predicate<BAFKPlayer<?>> broadcastFilter(BAFKPlayer<?> whoSent) {
+    /**
+     * @return an audience of the players that receive broadcasts about {@code whoSent}, only visiting the players of
+     * the relevant server
+     */
+    public @NotNull Audience audience(@NotNull BAFKPlayer<?> whoSent) {
         return switch (this) {
-            case ALL -> PlayerFilters.passAll();
-            case GLOBAL -> PlayerFilters.notMatching(whoSent);
-            case PER_SERVER -> PlayerFilters.notMatching(whoSent)
-                    .and(PlayerFilters.onServer(whoSent.getCurrentServerName()));
-            case DISABLE -> PlayerFilters.passNone();
+            case ALL -> ServerAudiences.getInstance().online(null);
+            case GLOBAL -> ServerAudiences.getInstance().online(whoSent);
+            case PER_SERVER -> ServerAudiences.getInstance().server(whoSent.getCurrentServerName(), whoSent);
+            case DISABLE -> Audience.empty();
         };
     }
 }
@@ -0,0 +1,405 @@
+package net.fameless.core.handling;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import net.fameless.core.player.GameMode;
+import net.fameless.core.util.Location;
+import net.fameless.core.util.PluginPaths;
+import net.fameless.core.util.SchedulerService;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the server, location and game mode players had before an AFK action, so they can be restored on return.
+ *
+ * <p>Every change is numbered and appended to a journal, which a background writer forces to disk in batches every
+ * {@link #FLUSH_DELAY_MILLIS}. Once the journal holds {@link #COMPACTION_THRESHOLD} entries, the current state is
+ * written to a temporary snapshot file, moved over the snapshot atomically and the journal is truncated. The snapshot
+ * stores the number of the last change it contains, so entries of a journal that could not be truncated before a
+ * crash are skipped when the journal is replayed on top of it. A snapshot that cannot be read is moved aside with a
+ * {@code .corrupt} suffix before the next compaction, so the states it holds are not overwritten.</p>
+ */
+class PreviousStateStore {
+
+    private static final Logger logger = LoggerFactory.getLogger("BungeeAFK/" + PreviousStateStore.class.getSimpleName());
+    private static final Gson gson = new GsonBuilder()
+            .setPrettyPrinting()
+            .disableHtmlEscaping()
+            .create();
+    private static final long FLUSH_DELAY_MILLIS = 200L;
+    private static final int COMPACTION_THRESHOLD = 1024;
+
+    private static final String SERVER = "server";
+    private static final String LOCATION = "location";
+    private static final String GAME_MODE = "game_mode";
+
+    private final Path snapshotFile;
+    private final Path journalFile;
+
+    private final Map<UUID, String> servers = new ConcurrentHashMap<>();
+    private final Map<UUID, Location> locations = new ConcurrentHashMap<>();
+    private final Map<UUID, GameMode> gameModes = new ConcurrentHashMap<>();
+
+    private final Object lock = new Object();
+    private final Object fileLock = new Object();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    // Guarded by lock
+    private final List<String> pending = new ArrayList<>();
+    private long sequence;
+
+    // Guarded by fileLock
+    private int journalEntries;
+    private boolean snapshotUnreadable;
+
+    PreviousStateStore() {
+        this(PluginPaths.getPersistedStatesFile(), PluginPaths.getPersistedStatesJournalFile());
+    }
+
+    PreviousStateStore(@NotNull Path snapshotFile, @NotNull Path journalFile) {
+        this.snapshotFile = snapshotFile;
+        this.journalFile = journalFile;
+    }
+
+    /**
+     * Restores the state from the snapshot and replays the journal on top of it.
+     */
+    void load() {
+        synchronized (fileLock) {
+            long snapshotSequence = readSnapshot();
+            boolean snapshotReadable = snapshotSequence >= 0;
+            snapshotSequence = Math.max(0, snapshotSequence);
+            long lastSequence = snapshotSequence;
+            int replayed = 0;
+            int malformed = 0;
+
+            if (Files.exists(journalFile)) {
+                try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) continue;
+                        journalEntries++;
+                        try {
+                            JsonObject entry = JsonParser.parseString(line).getAsJsonObject();
+                            long entrySequence = entry.get("seq").getAsLong();
+                            if (entrySequence <= snapshotSequence) continue;
+
+                            apply(entry.get("map").getAsString(), UUID.fromString(entry.get("uuid").getAsString()), entry.get("value"));
+                            lastSequence = Math.max(lastSequence, entrySequence);
+                            replayed++;
+                        } catch (RuntimeException e) {
+                            // A crash during an append may have left a partial last line
+                            malformed++;
+                        }
+                    }
+                } catch (IOException e) {
+                    logger.error("Failed to read player state journal: {}", journalFile, e);
+                }
+            }
+
+            synchronized (lock) {
+                sequence = lastSequence;
+            }
+            if (malformed > 0) {
+                logger.warn("Skipped {} malformed entries in player state journal: {}", malformed, journalFile);
+            }
+            logger.debug("Restored previous player states, replayed {} journal entries", replayed);
+
+            // An unreadable snapshot must not be replaced by a compaction, as the states it holds were not restored
+            if (!snapshotReadable && !moveAsideUnreadableSnapshot()) {
+                snapshotUnreadable = true;
+                return;
+            }
+            // Starts from a fresh journal, so a partial line left by a crash cannot swallow the next entry
+            compact();
+        }
+    }
+
+    /**
+     * Moves the unreadable snapshot to a file of its own, where it is kept for inspection or manual recovery.
+     *
+     * @return false if the snapshot could not be moved
+     */
+    private boolean moveAsideUnreadableSnapshot() {
+        Path target = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".corrupt");
+        if (Files.exists(target)) {
+            target = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".corrupt-" + System.currentTimeMillis());
+        }
+        try {
+            Files.move(snapshotFile, target);
+            logger.warn("Moved unreadable player state snapshot to {}", target);
+            return true;
+        } catch (IOException e) {
+            logger.error("Failed to move unreadable player state snapshot {} - It will not be compacted into", snapshotFile, e);
+            return false;
+        }
+    }
+
+    /**
+     * @return the sequence number of the last change contained in the snapshot, or -1 if it could not be read
+     */
+    private long readSnapshot() {
+        if (!Files.exists(snapshotFile)) return 0;
+
+        JsonObject root;
+        try (Reader reader = Files.newBufferedReader(snapshotFile)) {
+            root = gson.fromJson(reader, JsonObject.class);
+        } catch (IOException | RuntimeException e) {
+            logger.error("Failed to read player state snapshot: {}", snapshotFile, e);
+            return -1;
+        }
+        if (root == null) return 0;
+
+        for (String map : List.of(SERVER, LOCATION, GAME_MODE)) {
+            if (!root.has(map)) continue;
+            for (Map.Entry<String, JsonElement> entry : root.getAsJsonObject(map).entrySet()) {
+                try {
+                    apply(map, UUID.fromString(entry.getKey()), entry.getValue());
+                } catch (RuntimeException e) {
+                    logger.warn("Invalid {} for player {}: {}", map, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        // Snapshots written by older versions have no sequence and are followed by no journal
+        return root.has("seq") ? root.get("seq").getAsLong() : 0;
+    }
+
+    private void apply(@NotNull String map, @NotNull UUID uuid, @Nullable JsonElement value) {
+        boolean remove = value == null || value.isJsonNull();
+        switch (map) {
+            case SERVER -> {
+                if (remove) {
+                    servers.remove(uuid);
+                } else {
+                    servers.put(uuid, value.getAsString());
+                }
+            }
+            case LOCATION -> {
+                if (remove) {
+                    locations.remove(uuid);
+                } else {
+                    locations.put(uuid, Location.fromJson(value.getAsJsonObject()));
+                }
+            }
+            case GAME_MODE -> {
+                if (remove) {
+                    gameModes.remove(uuid);
+                } else {
+                    gameModes.put(uuid, GameMode.valueOf(value.getAsString().toUpperCase(Locale.ROOT)));
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown state map: " + map);
+        }
+    }
+
+    void putServer(@NotNull UUID uuid, @NotNull String server) {
+        synchronized (lock) {
+            servers.put(uuid, server);
+            journal(SERVER, uuid, new JsonPrimitive(server));
+        }
+        scheduleFlush();
+    }
+
+    @Nullable String removeServer(@NotNull UUID uuid) {
+        String server;
+        synchronized (lock) {
+            server = servers.remove(uuid);
+            if (server == null) return null;
+            journal(SERVER, uuid, null);
+        }
+        scheduleFlush();
+        return server;
+    }
+
+    void putLocationAndGameMode(@NotNull UUID uuid, @NotNull Location location, @NotNull GameMode gameMode) {
+        synchronized (lock) {
+            locations.put(uuid, location);
+            gameModes.put(uuid, gameMode);
+            journal(LOCATION, uuid, location.toJson());
+            journal(GAME_MODE, uuid, new JsonPrimitive(gameMode.name()));
+        }
+        scheduleFlush();
+    }
+
+    boolean has(@NotNull UUID uuid) {
+        return servers.containsKey(uuid) || locations.containsKey(uuid) || gameModes.containsKey(uuid);
+    }
+
+    boolean hasLocationAndGameMode(@NotNull UUID uuid) {
+        return locations.containsKey(uuid) && gameModes.containsKey(uuid);
+    }
+
+    @Nullable String getServer(@NotNull UUID uuid) {
+        return servers.get(uuid);
+    }
+
+    @Nullable Location getLocation(@NotNull UUID uuid) {
+        return locations.get(uuid);
+    }
+
+    @Nullable GameMode getGameMode(@NotNull UUID uuid) {
+        return gameModes.get(uuid);
+    }
+
+    @Nullable Location removeLocation(@NotNull UUID uuid) {
+        Location location;
+        synchronized (lock) {
+            location = locations.remove(uuid);
+            if (location == null) return null;
+            journal(LOCATION, uuid, null);
+        }
+        scheduleFlush();
+        return location;
+    }
+
+    @Nullable GameMode removeGameMode(@NotNull UUID uuid) {
+        GameMode gameMode;
+        synchronized (lock) {
+            gameMode = gameModes.remove(uuid);
+            if (gameMode == null) return null;
+            journal(GAME_MODE, uuid, null);
+        }
+        scheduleFlush();
+        return gameMode;
+    }
+
+    private void journal(@NotNull String map, @NotNull UUID uuid, @Nullable JsonElement value) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("seq", ++sequence);
+        entry.addProperty("map", map);
+        entry.addProperty("uuid", uuid.toString());
+        if (value != null) {
+            entry.add("value", value);
+        }
+        pending.add(entry.toString());
+    }
+
+    /**
+     * Writes the pending changes and compacts the journal into the snapshot on the calling thread, e.g. on shutdown.
+     */
+    void shutdown() {
+        synchronized (fileLock) {
+            flush();
+            compact();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) return;
+        try {
+            SchedulerService.SCHEDULED_EXECUTOR.schedule(() -> SchedulerService.VIRTUAL_EXECUTOR.execute(this::flush),
+                    FLUSH_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down, pending changes are written by shutdown()
+            flushScheduled.set(false);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+        synchronized (fileLock) {
+            List<String> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) return;
+                batch = List.copyOf(pending);
+                pending.clear();
+            }
+
+            StringBuilder builder = new StringBuilder(batch.size() * 128);
+            for (String line : batch) {
+                builder.append(line).append('\n');
+            }
+
+            try {
+                Files.createDirectories(journalFile.getParent());
+                write(journalFile, builder.toString(), StandardOpenOption.APPEND);
+                journalEntries += batch.size();
+            } catch (IOException e) {
+                logger.error("Failed to write player state journal: {}", journalFile, e);
+                synchronized (lock) {
+                    pending.addAll(0, batch);
+                }
+                return;
+            }
+
+            if (journalEntries >= COMPACTION_THRESHOLD) {
+                compact();
+            }
+        }
+    }
+
+    // Must be called while holding fileLock
+    private void compact() {
+        // The journal keeps growing instead, so no change is lost
+        if (snapshotUnreadable) return;
+
+        JsonObject root = new JsonObject();
+        List<String> drained;
+        synchronized (lock) {
+            JsonObject serverObject = new JsonObject();
+            JsonObject locationObject = new JsonObject();
+            JsonObject gameModeObject = new JsonObject();
+            servers.forEach((uuid, server) -> serverObject.addProperty(uuid.toString(), server));
+            locations.forEach((uuid, location) -> locationObject.add(uuid.toString(), location.toJson()));
+            gameModes.forEach((uuid, gameMode) -> gameModeObject.addProperty(uuid.toString(), gameMode.name()));
+
+            root.addProperty("seq", sequence);
+            root.add(LOCATION, locationObject);
+            root.add(GAME_MODE, gameModeObject);
+            root.add(SERVER, serverObject);
+            // Changes not yet in the journal are covered by the snapshot
+            drained = List.copyOf(pending);
+            pending.clear();
+        }
+
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(snapshotFile.getParent());
+            write(tempFile, gson.toJson(root), StandardOpenOption.TRUNCATE_EXISTING);
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            write(journalFile, "", StandardOpenOption.TRUNCATE_EXISTING);
+            journalEntries = 0;
+        } catch (IOException e) {
+            logger.error("Failed to compact player state journal into {}", snapshotFile, e);
+            synchronized (lock) {
+                pending.addAll(0, drained);
+            }
+        }
+    }
+
+    private static void write(@NotNull Path file, @NotNull String content, @NotNull StandardOpenOption mode) throws IOException {
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(content);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package net.fameless.core.handling;
+
+import net.fameless.core.player.BAFKPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Processes the players that are due on a tick in one sequential pass and records how long each tick took.
+ *
+ * <p>Ticks run on {@link net.fameless.core.util.SchedulerService#SCHEDULED_EXECUTOR}, the same thread that applies
+ * inbound player events, so player state is not processed concurrently and a tick never overlaps the previous one.
+ * Only players whose deadline has passed are due, which keeps a pass short even on large networks.</p>
+ *
+ * <p>Besides the duration of each tick, the lag of its start behind its scheduled start is recorded. A growing lag
+ * means ticks or other tasks on the scheduler thread take longer than the tick period, so work is backing up.</p>
+ */
+public class TickPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger("BungeeAFK/" + TickPipeline.class.getSimpleName());
+
+    private final Consumer<BAFKPlayer<?>> processor;
+
+    private final AtomicLong processedTotal = new AtomicLong();
+    private volatile long lastTickNanos;
+    private volatile long maxTickNanos;
+    private volatile long lastLagNanos;
+    private volatile long maxLagNanos;
+    private volatile int lastTickSize;
+
+    /**
+     * @param processor processes a single due player
+     */
+    public TickPipeline(@NotNull Consumer<BAFKPlayer<?>> processor) {
+        this.processor = processor;
+    }
+
+    /**
+     * @param duePlayers          the players to process
+     * @param scheduledStartNanos the {@link System#nanoTime()} at which this tick was due to start
+     */
+    public void execute(@NotNull List<BAFKPlayer<?>> duePlayers, long scheduledStartNanos) {
+        long start = System.nanoTime();
+        long lag = Math.max(0, start - scheduledStartNanos);
+        lastLagNanos = lag;
+        maxLagNanos = Math.max(maxLagNanos, lag);
+        try {
+            for (BAFKPlayer<?> player : duePlayers) {
+                try {
+                    processor.accept(player);
+                    processedTotal.incrementAndGet();
+                } catch (RuntimeException e) {
+                    logger.error("Error while processing player {}", player.getName(), e);
+                }
+            }
+        } finally {
+            long duration = System.nanoTime() - start;
+            lastTickNanos = duration;
+            maxTickNanos = Math.max(maxTickNanos, duration);
+            lastTickSize = duePlayers.size();
+        }
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    public long getLastLagNanos() {
+        return lastLagNanos;
+    }
+
+    public long getMaxLagNanos() {
+        return maxLagNanos;
+    }
+
+    public int getLastTickSize() {
+        return lastTickSize;
+    }
+
+    public long getProcessedTotal() {
+        return processedTotal.get();
+    }
+}
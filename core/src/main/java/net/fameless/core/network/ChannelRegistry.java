@@ -1,30 +1,215 @@
 package net.fameless.core.network;
 
 import io.netty.channel.Channel;
+import net.fameless.core.BungeeAFK;
+import net.fameless.core.util.SchedulerService;
+import net.fameless.network.ServerSoftware;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.HashSet;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Keeps track of the channels to the tracking plugins and their {@link ChannelState}.
+ *
+ * <p>Channels are tracked as soon as they become active, but are only part of the lookups once their handshake has
+ * been completed. The list of all channels and the lookup indexes by Minecraft port and server name are immutable snapshots that
+ * are only rebuilt when a channel is registered or unregistered, so lookups for outbound packets do not copy or
+ * allocate.</p>
+ *
+ * <p>A server is matched to the channels whose announced Minecraft port equals the port of its configured address.
+ * If several channels share that port, as backends on different hosts usually do, only those whose remote host is
+ * the host of the configured address are kept. Configured host names are resolved on a virtual thread by
+ * {@link #refreshServerAddresses()} and cached, so registering a channel or routing a packet never waits for DNS.
+ * Until a host name has been resolved, channels sharing its port are not narrowed down.</p>
+ */
 public class ChannelRegistry {
 
-    private final Map<Channel, Integer> connections = new ConcurrentHashMap<>();
+    private final Map<Channel, ChannelState> states = new ConcurrentHashMap<>();
 
-    public void register(Channel channel, int minecraftServerPort) {
-        connections.put(channel, minecraftServerPort);
+    private volatile List<Channel> channels = List.of();
+    private volatile Map<Integer, List<Channel>> channelsByPort = Map.of();
+    private volatile Map<String, List<Channel>> channelsByServerName = Map.of();
+    private volatile Map<String, InetSocketAddress> serverAddresses = Map.of();
+
+    private final AtomicLong refreshes = new AtomicLong();
+    private volatile long appliedRefresh;
+
+    /**
+     * Starts tracking a channel that has just become active.
+     */
+    public @NotNull ChannelState track(@NotNull Channel channel) {
+        return states.computeIfAbsent(channel, ChannelState::new);
+    }
+
+    /**
+     * Completes the handshake of a channel, making it available for outbound packets.
+     */
+    public synchronized @NotNull ChannelState register(@NotNull Channel channel, int minecraftServerPort,
+                                                       @NotNull ServerSoftware serverSoftware, int protocolVersion) {
+        ChannelState state = track(channel);
+        state.completeHandshake(minecraftServerPort, serverSoftware, protocolVersion);
+        rebuild();
+        return state;
+    }
+
+    /**
+     * @return the Minecraft port the channel was registered with, or {@code -1} if it never completed its handshake
+     */
+    public synchronized int unregister(@NotNull Channel channel) {
+        ChannelState state = states.remove(channel);
+        if (state == null || !state.isHandshakeComplete()) return -1;
+        rebuild();
+        return state.getMinecraftServerPort();
+    }
+
+    /**
+     * Resolves the configured addresses of the proxy's servers on a virtual thread and rebuilds the server name
+     * index with them. Called on startup, on config reload and when servers are added to or removed from the proxy.
+     */
+    public void refreshServerAddresses() {
+        long refresh = refreshes.incrementAndGet();
+        SchedulerService.VIRTUAL_EXECUTOR.submit(() -> {
+            Map<String, InetSocketAddress> resolved = resolveServerAddresses();
+            synchronized (this) {
+                // A later refresh may have finished first
+                if (refresh < appliedRefresh) return;
+                appliedRefresh = refresh;
+                serverAddresses = resolved;
+                rebuild();
+            }
+        });
+    }
+
+    private static @NotNull Map<String, InetSocketAddress> resolveServerAddresses() {
+        if (BungeeAFK.getPlatform() == null) return Map.of();
+        Map<String, InetSocketAddress> resolved = new HashMap<>();
+        for (String serverName : BungeeAFK.getPlatform().getServers()) {
+            BungeeAFK.getPlatform().getServerAddress(serverName)
+                    .ifPresent(address -> resolved.put(serverName, resolve(address)));
+        }
+        return Map.copyOf(resolved);
+    }
+
+    /**
+     * @return the address with its host name resolved, or the address itself if it cannot be resolved
+     */
+    private static @NotNull InetSocketAddress resolve(@NotNull InetSocketAddress address) {
+        if (!address.isUnresolved()) return address;
+        try {
+            return new InetSocketAddress(InetAddress.getByName(address.getHostString()), address.getPort());
+        } catch (UnknownHostException e) {
+            return address;
+        }
+    }
+
+    private void rebuild() {
+        List<Channel> all = new ArrayList<>(states.size());
+        Map<Integer, List<Channel>> byPort = new HashMap<>();
+        for (ChannelState state : states.values()) {
+            if (!state.isHandshakeComplete()) continue;
+            all.add(state.getChannel());
+            byPort.computeIfAbsent(state.getMinecraftServerPort(), port -> new ArrayList<>(1)).add(state.getChannel());
+        }
+
+        Map<Integer, List<Channel>> immutableByPort = new HashMap<>();
+        byPort.forEach((port, list) -> immutableByPort.put(port, List.copyOf(list)));
+
+        Map<String, List<Channel>> byServerName = new HashMap<>();
+        serverAddresses.forEach((serverName, address) -> {
+            List<Channel> list = channelsFor(address, immutableByPort);
+            if (!list.isEmpty()) byServerName.put(serverName, list);
+        });
+
+        channels = List.copyOf(all);
+        channelsByPort = Map.copyOf(immutableByPort);
+        channelsByServerName = Map.copyOf(byServerName);
+    }
+
+    public @Nullable ChannelState getState(@NotNull Channel channel) {
+        return states.get(channel);
+    }
+
+    public int getPort(@NotNull Channel channel) {
+        ChannelState state = states.get(channel);
+        return state == null ? -1 : state.getMinecraftServerPort();
+    }
+
+    /**
+     * @return the states of all tracked channels, including those that have not completed their handshake
+     */
+    public @NotNull Collection<ChannelState> states() {
+        return Collections.unmodifiableCollection(states.values());
+    }
+
+    public @NotNull List<Channel> getChannels(int minecraftServerPort) {
+        return channelsByPort.getOrDefault(minecraftServerPort, List.of());
+    }
+
+    /**
+     * Looks up the channels of a server by its name on the proxy. Servers whose address has not been resolved yet
+     * are looked up by their port, and a refresh is requested so that the next lookup can narrow them down by host.
+     */
+    public @NotNull List<Channel> getChannels(@NotNull String serverName) {
+        List<Channel> list = channelsByServerName.get(serverName);
+        if (list != null) return list;
+        if (BungeeAFK.getPlatform() == null) return List.of();
+
+        Optional<InetSocketAddress> address = BungeeAFK.getPlatform().getServerAddress(serverName);
+        if (address.isEmpty()) return List.of();
+        // Not every proxy reports servers added at runtime, so unknown servers are picked up here
+        if (!serverAddresses.containsKey(serverName) && refreshes.get() == appliedRefresh) {
+            refreshServerAddresses();
+        }
+        return channelsFor(address.get(), channelsByPort);
+    }
+
+    /**
+     * @return the channels on the port of the address, narrowed down to its host if several share the port
+     */
+    private static @NotNull List<Channel> channelsFor(@NotNull InetSocketAddress address,
+                                                      @NotNull Map<Integer, List<Channel>> byPort) {
+        List<Channel> candidates = byPort.getOrDefault(address.getPort(), List.of());
+        if (candidates.size() <= 1 || address.isUnresolved()) return candidates;
+
+        InetAddress host = address.getAddress();
+
+        List<Channel> matching = new ArrayList<>(1);
+        for (Channel channel : candidates) {
+            if (channel.remoteAddress() instanceof InetSocketAddress remote && isSameHost(host, remote.getAddress())) {
+                matching.add(channel);
+            }
+        }
+        // Still ambiguous, so the caller falls back to all candidates
+        return matching.isEmpty() ? candidates : List.copyOf(matching);
     }
 
-    public int unregister(Channel channel) {
-        return connections.remove(channel);
+    private static boolean isSameHost(@NotNull InetAddress configured, @Nullable InetAddress remote) {
+        if (remote == null) return false;
+        // A backend on the proxy's machine may be configured as localhost and connect from any loopback address
+        return configured.equals(remote) || (configured.isLoopbackAddress() && remote.isLoopbackAddress());
     }
 
-    public int getPort(Channel channel) {
-        return connections.get(channel);
+    /**
+     * @return an immutable snapshot of all registered channels
+     */
+    public @NotNull List<Channel> channels() {
+        return channels;
     }
 
-    public Set<Channel> channels() {
-        return new HashSet<>(connections.keySet());
+    public int size() {
+        return channels.size();
     }
 
 }
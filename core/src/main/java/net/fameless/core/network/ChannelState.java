@@ -0,0 +1,105 @@
+package net.fameless.core.network;
+
+import io.netty.channel.Channel;
+import net.fameless.network.NetworkUtil;
+import net.fameless.network.PacketWriter;
+import net.fameless.network.ServerSoftware;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Connection state of a channel to a tracking plugin. A channel is tracked from the moment it becomes active, but
+ * only receives packets once its handshake has been completed.
+ */
+public class ChannelState {
+
+    private final Channel channel;
+    private final List<Channel> singleton;
+    private volatile boolean handshakeComplete;
+    private volatile int minecraftServerPort = -1;
+    private volatile ServerSoftware serverSoftware;
+    private volatile int protocolVersion = NetworkUtil.JSON_PROTOCOL_VERSION;
+    private volatile long lastHeartbeatNanos = System.nanoTime();
+
+    ChannelState(@NotNull Channel channel) {
+        this.channel = channel;
+        this.singleton = List.of(channel);
+    }
+
+    void completeHandshake(int minecraftServerPort, @NotNull ServerSoftware serverSoftware, int protocolVersion) {
+        this.minecraftServerPort = minecraftServerPort;
+        this.serverSoftware = serverSoftware;
+        this.protocolVersion = protocolVersion;
+        this.handshakeComplete = true;
+    }
+
+    public @NotNull Channel getChannel() {
+        return channel;
+    }
+
+    /**
+     * @return an immutable list containing only this channel, so sends to a single backend do not allocate
+     */
+    public @NotNull List<Channel> asList() {
+        return singleton;
+    }
+
+    public boolean isHandshakeComplete() {
+        return handshakeComplete;
+    }
+
+    /**
+     * @return the Minecraft port announced in the handshake, or {@code -1} before the handshake
+     */
+    public int getMinecraftServerPort() {
+        return minecraftServerPort;
+    }
+
+    public @Nullable ServerSoftware getServerSoftware() {
+        return serverSoftware;
+    }
+
+    public int getProtocolVersion() {
+        return protocolVersion;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} of the last inbound packet, heartbeats included
+     */
+    public long getLastHeartbeatNanos() {
+        return lastHeartbeatNanos;
+    }
+
+    public void markHeartbeat() {
+        lastHeartbeatNanos = System.nanoTime();
+    }
+
+    public boolean isWritable() {
+        return channel.isWritable();
+    }
+
+    /**
+     * @return the number of bytes that can be queued before the channel becomes unwritable, or {@code 0} if it is not
+     *         writable
+     */
+    public long getBytesBeforeUnwritable() {
+        return channel.bytesBeforeUnwritable();
+    }
+
+    /**
+     * @return the number of bytes that have to be flushed before the channel becomes writable again, or {@code 0} if
+     *         it is writable
+     */
+    public long getBytesBeforeWritable() {
+        return channel.bytesBeforeWritable();
+    }
+
+    /**
+     * @return the number of non-critical packets dropped because the outbound buffer was full
+     */
+    public long getDroppedPackets() {
+        return PacketWriter.getDroppedPackets(channel);
+    }
+}
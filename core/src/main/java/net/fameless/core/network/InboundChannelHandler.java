@@ -1,16 +1,13 @@
 package net.fameless.core.network;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import net.fameless.core.BungeeAFK;
-import net.fameless.core.player.BAFKPlayer;
 import net.fameless.core.player.GameMode;
 import net.fameless.core.util.Location;
-import net.fameless.network.MessageType;
-import net.fameless.network.NetworkMessage;
+import net.fameless.network.NetworkUtil;
 import net.fameless.network.ServerSoftware;
+import net.fameless.network.packet.AbstractPacket;
+import net.fameless.network.packet.HeartbeatPacket;
 import net.fameless.network.packet.inbound.*;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
@@ -18,18 +15,36 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Locale;
 
-public class InboundChannelHandler extends SimpleChannelInboundHandler<String> {
+/**
+ * Handles the handshake of tracking plugins on the Netty thread and hands player packets over to the
+ * {@link InboundEventQueue}.
+ */
+public class InboundChannelHandler extends SimpleChannelInboundHandler<AbstractPacket> {
 
     private final Logger logger = LoggerFactory.getLogger("BungeeAFK/Network");
-    private final Gson gson = new GsonBuilder()
-            .setPrettyPrinting()
-            .disableHtmlEscaping()
-            .create();
+
+    @Override
+    public void channelActive(@NotNull ChannelHandlerContext ctx) throws Exception {
+        OutboundPacketSender.getInstance().getRegistry().track(ctx.channel());
+        super.channelActive(ctx);
+    }
 
     @Override
     public void channelInactive(@NotNull ChannelHandlerContext ctx) {
         int port = OutboundPacketSender.getInstance().getRegistry().unregister(ctx.channel());
-        logger.info("Netty channel inactive (Port={})", port);
+        OutboundPacketSender.getInstance().getRouter().invalidate(ctx.channel());
+        if (port != -1) {
+            logger.info("Netty channel inactive (Port={})", port);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(@NotNull ChannelHandlerContext ctx) throws Exception {
+        if (!ctx.channel().isWritable()) {
+            logger.warn("Netty channel is not writable, dropping non-critical packets (Port={})",
+                    OutboundPacketSender.getInstance().getRegistry().getPort(ctx.channel()));
+        }
+        super.channelWritabilityChanged(ctx);
     }
 
     @Override
@@ -43,42 +58,29 @@ public class InboundChannelHandler extends SimpleChannelInboundHandler<String> {
 
 
     @Override
-    protected void channelRead0(ChannelHandlerContext ctx, String msg) {
+    protected void channelRead0(ChannelHandlerContext ctx, AbstractPacket msg) {
+        OutboundPacketSender.getInstance().getRegistry().track(ctx.channel()).markHeartbeat();
         try {
-            NetworkMessage message = gson.fromJson(msg, NetworkMessage.class);
-            MessageType type = MessageType.valueOf(message.type);
-
-            switch (type) {
-                case HANDSHAKE -> {
-                    HandshakePacket packet = gson.fromJson(message.payload, HandshakePacket.class);
+            switch (msg) {
+                case HandshakePacket packet -> {
                     int port = packet.minecraftServerPort;
                     ServerSoftware serverSoftware = packet.serverSoftware;
-                    OutboundPacketSender.getInstance().getRegistry().register(ctx.channel(), port);
+                    int protocolVersion = NetworkUtil.negotiateProtocolVersion(ctx.channel(), packet.protocolVersion);
+                    OutboundPacketSender.getInstance().getRegistry().register(ctx.channel(), port, serverSoftware, protocolVersion);
+                    // A new backend may make cached routes ambiguous
+                    OutboundPacketSender.getInstance().getRouter().invalidateAll();
                     OutboundPacketSender.getInstance().sendConfigurationPacket(ctx.channel());
-                    logger.info("Netty channel: proxy ↔ {} tracking plugin established (Port={})", serverSoftware.friendlyName, port);
-                }
-                case ACTION_CAUGHT -> {
-                    ActionCaughtPacket packet = gson.fromJson(message.payload, ActionCaughtPacket.class);
-                    BAFKPlayer.of(packet.uuid).ifPresentOrElse(BAFKPlayer::setActive,
-                            () -> logger.warn("Received action caught packet but player does not exist"));
-                }
-                case LOCATION_CHANGED -> {
-                    LocationChangedPacket packet = gson.fromJson(message.payload, LocationChangedPacket.class);
-                    Location location = new Location(packet.world, packet.x, packet.y, packet.z, packet.pitch, packet.yaw);
-                    BAFKPlayer.of(packet.uuid).ifPresentOrElse(player -> player.setLocation(location),
-                            () -> logger.warn("Received location change packet but player does not exist"));
-                }
-                case CLICK_DETECTED -> {
-                    ClickDetectedPacket packet = gson.fromJson(message.payload, ClickDetectedPacket.class);
-                    BAFKPlayer.of(packet.uuid).ifPresentOrElse(player -> {
-                        player.setActive();
-                        BungeeAFK.getAutoClickerDetector().registerClick(player);
-                    }, () -> logger.warn("Received click packet but player does not exist"));
+                    logger.info("Netty channel: proxy ↔ {} tracking plugin established (Port={}, Protocol={})", serverSoftware.friendlyName, port, protocolVersion);
                 }
-                case GAMEMODE_CHANGED -> {
-                    GameModeChangedPacket packet = gson.fromJson(message.payload, GameModeChangedPacket.class);
-                    BAFKPlayer.of(packet.uuid).ifPresentOrElse(player -> player.setGameMode(GameMode.valueOf(packet.gameMode.toUpperCase(Locale.US))), () -> logger.warn("Received game mode change packet but player does not exist"));
+                case ActionCaughtPacket packet -> InboundEventQueue.getInstance().offer(new InboundEvent.ActionCaught(packet.uuid));
+                case LocationChangedPacket packet -> InboundEventQueue.getInstance().offer(new InboundEvent.LocationChanged(packet.uuid,
+                        new Location(packet.world, packet.x, packet.y, packet.z, packet.pitch, packet.yaw)));
+                case ClickDetectedPacket packet -> InboundEventQueue.getInstance().offer(new InboundEvent.ClickDetected(packet.uuid));
+                case GameModeChangedPacket packet -> InboundEventQueue.getInstance().offer(new InboundEvent.GameModeChanged(packet.uuid,
+                        GameMode.valueOf(packet.gameMode.toUpperCase(Locale.US))));
+                case HeartbeatPacket ignored -> {
                 }
+                default -> logger.warn("Received unexpected packet: {}", msg.type);
             }
         } catch (Throwable t) {
             logger.error("Error processing inbound message", t);
@@ -0,0 +1,23 @@
+package net.fameless.core.network;
+
+import net.fameless.core.player.GameMode;
+import net.fameless.core.util.Location;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Player state change decoded from an inbound packet, applied by the {@link InboundEventQueue}.
+ */
+public sealed interface InboundEvent {
+
+    @NotNull UUID uuid();
+
+    record ActionCaught(@NotNull UUID uuid) implements InboundEvent {}
+
+    record LocationChanged(@NotNull UUID uuid, @NotNull Location location) implements InboundEvent {}
+
+    record ClickDetected(@NotNull UUID uuid) implements InboundEvent {}
+
+    record GameModeChanged(@NotNull UUID uuid, @NotNull GameMode gameMode) implements InboundEvent {}
+}
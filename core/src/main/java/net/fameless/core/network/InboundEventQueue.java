@@ -0,0 +1,121 @@
+package net.fameless.core.network;
+
+import net.fameless.core.BungeeAFK;
+import net.fameless.core.player.BAFKPlayer;
+import net.fameless.core.util.SchedulerService;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands player activity from the Netty threads and platform event threads over to the scheduler thread.
+ *
+ * <p>Netty threads only decode packets and platform listeners only {@link #offer} the resulting events. The events
+ * are applied in batches on {@link SchedulerService#SCHEDULED_EXECUTOR}, the same thread that runs the AFK checks,
+ * so activity never races with them. Commands and the API still change player state from their own threads, which
+ * is why {@link BAFKPlayer} keeps its state in volatile fields. A drain is submitted when the first event arrives on
+ * an empty queue, and a batch that hits {@link #MAX_BATCH_SIZE} resubmits the drain so the AFK checks are not
+ * starved.</p>
+ */
+public class InboundEventQueue {
+
+    private static final Logger logger = LoggerFactory.getLogger("BungeeAFK/" + InboundEventQueue.class.getSimpleName());
+    private static final int MAX_BATCH_SIZE = 1024;
+
+    private static class Holder {
+        public static InboundEventQueue instance = new InboundEventQueue();
+    }
+
+    public static InboundEventQueue getInstance() {
+        return Holder.instance;
+    }
+
+    private final Queue<InboundEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+
+    private final AtomicLong processedTotal = new AtomicLong();
+    private volatile int maxDepth;
+    private volatile int lastBatchSize;
+
+    private InboundEventQueue() {
+    }
+
+    public void offer(@NotNull InboundEvent event) {
+        queue.offer(event);
+        int currentDepth = depth.incrementAndGet();
+        if (currentDepth > maxDepth) {
+            maxDepth = currentDepth;
+        }
+        if (drainScheduled.compareAndSet(false, true)) {
+            SchedulerService.SCHEDULED_EXECUTOR.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+
+        int processed = 0;
+        InboundEvent event;
+        while (processed < MAX_BATCH_SIZE && (event = queue.poll()) != null) {
+            depth.decrementAndGet();
+            processed++;
+            try {
+                apply(event);
+            } catch (Throwable t) {
+                logger.error("Error processing inbound event {}", event, t);
+            }
+        }
+
+        lastBatchSize = processed;
+        processedTotal.addAndGet(processed);
+        if (!queue.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+            SchedulerService.SCHEDULED_EXECUTOR.execute(this::drain);
+        }
+    }
+
+    private void apply(@NotNull InboundEvent event) {
+        Optional<BAFKPlayer<?>> playerOptional = BAFKPlayer.of(event.uuid());
+        if (playerOptional.isEmpty()) {
+            logger.warn("Received {} but player does not exist", event.getClass().getSimpleName());
+            return;
+        }
+
+        BAFKPlayer<?> player = playerOptional.get();
+        switch (event) {
+            case InboundEvent.ActionCaught ignored -> player.setActive();
+            case InboundEvent.LocationChanged e -> player.setLocation(e.location());
+            case InboundEvent.ClickDetected ignored -> {
+                player.setActive();
+                BungeeAFK.getAutoClickerDetector().registerClick(player);
+            }
+            case InboundEvent.GameModeChanged e -> player.setGameMode(e.gameMode());
+        }
+    }
+
+    /**
+     * @return the number of events waiting to be applied
+     */
+    public int getDepth() {
+        return depth.get();
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public long getProcessedTotal() {
+        return processedTotal.get();
+    }
+}
@@ -3,38 +3,39 @@ package net.fameless.core.network;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.MultiThreadIoEventLoopGroup;
-import io.netty.channel.nio.NioIoHandler;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
-import io.netty.handler.codec.string.StringDecoder;
-import io.netty.handler.codec.string.StringEncoder;
 import net.fameless.core.config.Config;
+import net.fameless.network.HeartbeatHandler;
+import net.fameless.network.NettyTransport;
+import net.fameless.network.PacketCodec;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.nio.charset.StandardCharsets;
-
 public class NettyServerBootstrap {
 
     private static final Logger logger = LoggerFactory.getLogger("BungeeAFK/NettyServerBootstrap");
-    private static final EventLoopGroup bossGroup = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
-    private static final EventLoopGroup workerGroup = new MultiThreadIoEventLoopGroup(Runtime.getRuntime().availableProcessors(), NioIoHandler.newFactory());
+    private static final HeartbeatHandler heartbeatHandler = new HeartbeatHandler();
+    private static EventLoopGroup bossGroup;
+    private static EventLoopGroup workerGroup;
 
     public static void initializeServer() throws InterruptedException {
-        ServerBootstrap bootstrap = new ServerBootstrap()
-                .group(bossGroup, workerGroup)
-                .channel(NioServerSocketChannel.class)
+        NettyTransport transport = NettyTransport.select();
+        int workerThreads = Math.max(1, Config.getInstance().getInt("netty-worker-threads", 2));
+        bossGroup = transport.newEventLoopGroup(1);
+        workerGroup = transport.newEventLoopGroup(workerThreads);
+
+        ServerBootstrap bootstrap = transport.configure(new ServerBootstrap().group(bossGroup, workerGroup))
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel socketChannel) {
                         socketChannel.pipeline().addLast(
                                 new LengthFieldBasedFrameDecoder(65536, 0, 4, 0, 4),
                                 new LengthFieldPrepender(4),
-                                new StringDecoder(StandardCharsets.UTF_8),
-                                new StringEncoder(StandardCharsets.UTF_8),
+                                new PacketCodec(),
+                                HeartbeatHandler.newIdleStateHandler(),
+                                heartbeatHandler,
                                 new InboundChannelHandler()
                         );
                     }
@@ -42,11 +43,11 @@ public class NettyServerBootstrap {
 
         int port = Config.getInstance().getInt("netty-port", 9000);
         bootstrap.bind(port).sync();
-        logger.info("Listening on port: {}", port);
+        logger.info("Listening on port: {} (Transport={}, Worker threads={})", port, transport.friendlyName, workerThreads);
     }
 
     public static void shutdownServer() {
-        workerGroup.shutdownGracefully();
-        bossGroup.shutdownGracefully();
+        if (workerGroup != null) workerGroup.shutdownGracefully();
+        if (bossGroup != null) bossGroup.shutdownGracefully();
     }
 }
@@ -4,7 +4,9 @@ import io.netty.channel.Channel;
 import net.fameless.core.config.Config;
 import net.fameless.core.player.BAFKPlayer;
 import net.fameless.core.player.GameMode;
+import net.fameless.core.player.PlayerLifecycleService;
 import net.fameless.core.util.Location;
+import net.fameless.network.NetworkUtil;
 import net.fameless.network.packet.outbound.*;
 import org.jetbrains.annotations.NotNull;
 
@@ -19,9 +21,14 @@ public class OutboundPacketSender {
     }
 
     private final ChannelRegistry registry = new ChannelRegistry();
+    private final PacketRouter router = new PacketRouter(registry);
+
+    private OutboundPacketSender() {
+        PlayerLifecycleService.getInstance().addUnloadListener(player -> router.invalidate(player.getUniqueId()));
+    }
 
     public void sendOpenEmptyInventoryPacket(@NotNull BAFKPlayer<?> player) {
-        new OpenEmptyInventoryPacket(player.getUniqueId()).send(registry.channels());
+        new OpenEmptyInventoryPacket(player.getUniqueId()).send(router.route(player));
     }
 
     public void sendTeleportPlayerPacket(@NotNull BAFKPlayer<?> player, @NotNull Location to) {
@@ -33,31 +40,35 @@ public class OutboundPacketSender {
                 to.z(),
                 to.pitch(),
                 to.yaw()
-        ).send(registry.channels());
+        ).send(router.route(player));
     }
 
     public void sendSetGameModePacket(@NotNull BAFKPlayer<?> player, @NotNull GameMode gameMode) {
-        new SetGameModePacket(player.getUniqueId(), gameMode.name()).send(registry.channels());
+        new SetGameModePacket(player.getUniqueId(), gameMode.name()).send(router.route(player));
     }
 
     public void sendPlayerAfkDetectedPacket(@NotNull BAFKPlayer<?> player) {
-        new PlayerAfkPacket(player.getUniqueId()).send(registry.channels());
+        new PlayerAfkPacket(player.getUniqueId()).send(router.route(player));
     }
 
     public void sendPlayerReturnPacket(@NotNull BAFKPlayer<?> player) {
-        new PlayerReturnPacket(player.getUniqueId()).send(registry.channels());
+        new PlayerReturnPacket(player.getUniqueId()).send(router.route(player));
     }
 
     public void sendConfigurationPacket(@NotNull Channel channel) {
-        new ConfigurationUpdatePacket(Config.getInstance().getBoolean("reduce-simulation-distance", false)).send(channel);
+        new ConfigurationUpdatePacket(Config.getInstance().getSnapshot().reduceSimulationDistance(), NetworkUtil.PROTOCOL_VERSION).send(channel);
     }
 
     public void sendConfigurationPacket() {
-        new ConfigurationUpdatePacket(Config.getInstance().getBoolean("reduce-simulation-distance", false)).send(registry.channels());
+        new ConfigurationUpdatePacket(Config.getInstance().getSnapshot().reduceSimulationDistance(), NetworkUtil.PROTOCOL_VERSION).send(registry.channels());
     }
 
     public ChannelRegistry getRegistry() {
         return registry;
     }
 
+    public PacketRouter getRouter() {
+        return router;
+    }
+
 }
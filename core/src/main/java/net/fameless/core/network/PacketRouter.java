@@ -0,0 +1,67 @@
+package net.fameless.core.network;
+
+import io.netty.channel.Channel;
+import net.fameless.core.player.BAFKPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the channel of the backend that hosts a player.
+ *
+ * <p>The backend is found by matching the address of the player's current server, as configured on the proxy,
+ * against the Minecraft port each tracking plugin announced in its handshake and the host it connected from, see
+ * {@link ChannelRegistry#getChannels(String)}. Resolved routes are cached per player until the player switches
+ * servers or the channel is closed. If the route cannot be resolved, e.g. because the server has no tracking plugin
+ * or several backends share both port and host, packets are sent to every channel.</p>
+ */
+public class PacketRouter {
+
+    private final ChannelRegistry registry;
+    private final Map<UUID, ChannelState> routes = new ConcurrentHashMap<>();
+
+    public PacketRouter(@NotNull ChannelRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * @return the channel of the player's backend, or every channel if the route is unknown
+     */
+    public @NotNull Collection<Channel> route(@NotNull BAFKPlayer<?> player) {
+        ChannelState state = routes.get(player.getUniqueId());
+        if (state == null || !state.getChannel().isActive()) {
+            state = resolve(player);
+            if (state == null) {
+                routes.remove(player.getUniqueId());
+                return registry.channels();
+            }
+            routes.put(player.getUniqueId(), state);
+        }
+        return state.asList();
+    }
+
+    private @Nullable ChannelState resolve(@NotNull BAFKPlayer<?> player) {
+        String serverName = player.getCurrentServerName();
+        if (serverName == null) return null;
+
+        List<Channel> candidates = registry.getChannels(serverName);
+        return candidates.size() == 1 ? registry.getState(candidates.getFirst()) : null;
+    }
+
+    public void invalidate(@NotNull UUID uuid) {
+        routes.remove(uuid);
+    }
+
+    public void invalidate(@NotNull Channel channel) {
+        routes.values().removeIf(state -> state.getChannel().equals(channel));
+    }
+
+    public void invalidateAll() {
+        routes.clear();
+    }
+}
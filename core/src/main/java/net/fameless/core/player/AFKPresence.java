@@ -0,0 +1,104 @@
+package net.fameless.core.player;
+
+import net.fameless.core.handling.AFKState;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * Keeps the online players split into AFK and active players, for placeholders that list or count them.
+ *
+ * <p>Players are moved between the sets when their AFK or bypass state changes and are removed on disconnect.
+ * A player counts as AFK while in {@link AFKState#AFK} or {@link AFKState#ACTION_TAKEN}. The joined name lists are
+ * rebuilt only when the membership of a set changes, so reading them is free.</p>
+ */
+public class AFKPresence {
+
+    private static class Holder {
+        private static final AFKPresence INSTANCE = new AFKPresence();
+    }
+
+    public static AFKPresence getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static final String DELIMITER = ", ";
+
+    private final Set<BAFKPlayer<?>> afk = new LinkedHashSet<>();
+    private final Set<BAFKPlayer<?>> active = new LinkedHashSet<>();
+    private volatile String afkNames = "";
+    private volatile String activeNames = "";
+    private volatile int afkCount;
+    private volatile int activeCount;
+
+    private AFKPresence() {
+    }
+
+    /**
+     * Moves the player into the set matching their current state.
+     */
+    public synchronized void update(@NotNull BAFKPlayer<?> player) {
+        if (player.isOffline()) {
+            remove(player);
+            return;
+        }
+
+        AFKState state = player.getAfkState();
+        boolean isAfk = state == AFKState.AFK || state == AFKState.ACTION_TAKEN;
+        Set<BAFKPlayer<?>> target = isAfk ? afk : active;
+        Set<BAFKPlayer<?>> other = isAfk ? active : afk;
+        if (!target.add(player)) return;
+
+        other.remove(player);
+        publish();
+    }
+
+    public synchronized void remove(@NotNull BAFKPlayer<?> player) {
+        if (afk.remove(player) | active.remove(player)) {
+            publish();
+        }
+    }
+
+    private void publish() {
+        afkNames = join(afk);
+        activeNames = join(active);
+        afkCount = afk.size();
+        activeCount = active.size();
+    }
+
+    private static @NotNull String join(@NotNull Set<BAFKPlayer<?>> players) {
+        StringJoiner joiner = new StringJoiner(DELIMITER);
+        for (BAFKPlayer<?> player : players) {
+            joiner.add(player.getName());
+        }
+        return joiner.toString();
+    }
+
+    public synchronized boolean isAfk(@NotNull BAFKPlayer<?> player) {
+        return afk.contains(player);
+    }
+
+    /**
+     * @return the names of the AFK players, separated by commas
+     */
+    public @NotNull String getAfkNames() {
+        return afkNames;
+    }
+
+    /**
+     * @return the names of the active players, separated by commas
+     */
+    public @NotNull String getActiveNames() {
+        return activeNames;
+    }
+
+    public int getAfkCount() {
+        return afkCount;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
+    }
+}
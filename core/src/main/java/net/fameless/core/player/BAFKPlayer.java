@@ -7,9 +7,12 @@ import net.fameless.core.adapter.APIAdapter;
 import net.fameless.core.caption.Caption;
 import net.fameless.core.command.framework.CommandCaller;
 import net.fameless.core.config.Config;
+import net.fameless.core.config.ConfigSnapshot;
 import net.fameless.core.handling.AFKState;
 import net.fameless.core.network.OutboundPacketSender;
+import net.fameless.core.region.Region;
 import net.fameless.core.region.RegionService;
+import net.fameless.core.util.BlockKey;
 import net.fameless.core.util.Location;
 import net.fameless.core.util.MessageBroadcaster;
 import net.kyori.adventure.audience.Audience;
@@ -22,75 +25,116 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public abstract class BAFKPlayer<PlatformPlayer> implements CommandCaller {
 
     protected static final Logger logger = LoggerFactory.getLogger("BungeeAFK/Player");
-    public static final List<BAFKPlayer<?>> PLAYERS = new CopyOnWriteArrayList<>();
+    public static final PlayerRegistry<BAFKPlayer<?>> REGISTRY = new PlayerRegistry<>();
+    public static final Collection<BAFKPlayer<?>> PLAYERS = REGISTRY.values();
+    private static final AtomicLong BYPASS_EPOCH = new AtomicLong();
+    private static final long BYPASS_PERMISSION_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(5);
 
     protected String name;
     private final UUID uuid;
-    private long timeSinceLastAction = 0;
-    private AFKState afkState = AFKState.ACTIVE;
-    private GameMode gameMode = GameMode.SURVIVAL;
-    private Location location = new Location("world", 0, 0, 0, 0, 0);
-
-    public BAFKPlayer(UUID uuid) {
-        if (of(uuid).isPresent()) {
+    private volatile long lastActivityNanos = System.nanoTime();
+    private volatile boolean bypassed = false;
+    private volatile boolean bypassStale = true;
+    private volatile long bypassEpochSeen;
+    private volatile Region lastBypassRegion;
+    private volatile long bypassCheckedAtNanos;
+    // Written on the scheduler thread by activity and tracking events, but also by commands and the API
+    private volatile AFKState afkState = AFKState.ACTIVE;
+    private volatile GameMode gameMode = GameMode.SURVIVAL;
+    private volatile Location location = new Location("world", 0, 0, 0, 0, 0);
+
+    public BAFKPlayer(UUID uuid, String name) {
+        this.uuid = uuid;
+        this.name = name;
+        if (!REGISTRY.register(this)) {
             throw new IllegalArgumentException("A player with this UUID already exists: " + uuid);
         }
-        this.uuid = uuid;
-        PLAYERS.add(this);
     }
 
     public static @NotNull Optional<BAFKPlayer<?>> of(String name) {
-        for (BAFKPlayer<?> bafkPlayer : PLAYERS) {
-            if (bafkPlayer.getName().equalsIgnoreCase(name)) {
-                return Optional.of(bafkPlayer);
-            }
-        }
-        return Optional.empty();
+        return REGISTRY.get(name);
     }
 
     public static @NotNull Optional<BAFKPlayer<?>> of(UUID uuid) {
-        for (BAFKPlayer<?> player : PLAYERS) {
-            if (player.getUniqueId().equals(uuid)) {
-                return Optional.of(player);
-            }
-        }
-        return Optional.empty();
+        return REGISTRY.get(uuid);
     }
 
     public UUID getUniqueId() {
         return uuid;
     }
 
+    public long getLastActivityNanos() {
+        return lastActivityNanos;
+    }
+
     public long getTimeSinceLastAction() {
-        return timeSinceLastAction;
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastActivityNanos));
     }
 
     public void setTimeSinceLastAction(long timeSinceLastAction) {
-        this.timeSinceLastAction = timeSinceLastAction;
+        this.lastActivityNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(timeSinceLastAction);
+        BungeeAFK.getAFKHandler().scheduleNextTransition(this);
     }
 
-    public void increaseTimeSinceLastAction(long increment) {
-        if (afkState == AFKState.BYPASS) return;
-        this.timeSinceLastAction += increment;
+    public AFKState getAfkState() {
+        return isBypassed() ? AFKState.BYPASS : afkState;
     }
 
-    public AFKState getAfkState() {
-        if ((Config.getInstance().getBoolean("allow-bypass", true) && hasPermission("bungeeafk.bypass")) ||
-                Config.getInstance().getStringList("disabled-servers").contains(getCurrentServerName()) ||
-                RegionService.getInstance().isLocationInAnyBypassRegion(location)
-        ) {
-            return AFKState.BYPASS;
+    public boolean isBypassed() {
+        if (bypassStale || bypassEpochSeen != BYPASS_EPOCH.get()
+                || System.nanoTime() - bypassCheckedAtNanos >= BYPASS_PERMISSION_REFRESH_NANOS) {
+            refreshBypass();
         }
-        return afkState;
+        return bypassed;
+    }
+
+    private void refreshBypass() {
+        long epoch = BYPASS_EPOCH.get();
+        // Cleared before computing, so an invalidation that races with this refresh is not lost
+        bypassStale = false;
+        ConfigSnapshot config = Config.getInstance().getSnapshot();
+        boolean bypass = (config.allowBypass() && hasPermission("bungeeafk.bypass")) ||
+                config.disabledServers().contains(getCurrentServerName()) ||
+                isInBypassRegion();
+        bypassEpochSeen = epoch;
+        bypassCheckedAtNanos = System.nanoTime();
+        updateBypass(bypass);
+    }
+
+    private boolean isInBypassRegion() {
+        Region region = RegionService.getInstance().getBypassRegion(location, lastBypassRegion);
+        if (region != null) lastBypassRegion = region;
+        return region != null;
+    }
+
+    /**
+     * Marks the cached bypass state of this player as stale. It is recomputed on the next read.
+     */
+    public void invalidateBypassState() {
+        bypassStale = true;
+    }
+
+    /**
+     * Marks the cached bypass state of every player as stale, e.g. after the config or the regions changed.
+     */
+    public static void invalidateAllBypassStates() {
+        BYPASS_EPOCH.incrementAndGet();
+    }
+
+    private void updateBypass(boolean bypass) {
+        if (bypass == bypassed) return;
+        bypassed = bypass;
+        AFKPresence.getInstance().update(this);
     }
 
     public void setAfkState(AFKState afkState) {
@@ -105,14 +149,17 @@ public abstract class BAFKPlayer<PlatformPlayer> implements CommandCaller {
         if ((this.afkState == AFKState.AFK || this.afkState == AFKState.ACTION_TAKEN) && newState == AFKState.ACTIVE) {
             sendMessage(Caption.of("notification.afk_return"));
 
-            MessageBroadcaster.broadcastMessageToFiltered(
+            MessageBroadcaster.broadcast(
                     Caption.of("notification.afk_return_broadcast",
                             TagResolver.resolver("player", Tag.inserting(Component.text(getName())))),
-                    BungeeAFK.getAFKHandler().getBroadcastStrategy().broadcastFilter(this)
+                    BungeeAFK.getAFKHandler().getBroadcastStrategy(),
+                    this
             );
             OutboundPacketSender.getInstance().sendPlayerReturnPacket(this);
         }
         this.afkState = newState;
+        AFKPresence.getInstance().update(this);
+        BungeeAFK.getAFKHandler().handleStateChange(this, newState);
     }
 
     public void sendMessage(@Nullable Component message) {
@@ -142,10 +189,24 @@ public abstract class BAFKPlayer<PlatformPlayer> implements CommandCaller {
     }
 
     public void setLocation(Location location) {
-        if (!this.location.equalsBlock(location)) {
+        Location previous = this.location;
+        boolean blockChanged = BlockKey.of(previous) != BlockKey.of(location)
+                || !previous.worldName().equals(location.worldName());
+        if (blockChanged) {
             BungeeAFK.getMovementPatternDetection().registerMovement(this, location);
         }
         this.location = location;
+        if (blockChanged) {
+            invalidateBypassState();
+        }
+    }
+
+    public void onServerSwitch() {
+        ServerAudiences.getInstance().update(this);
+        // The client drops the actionbar on respawn, so it is sent again right away
+        BungeeAFK.getAFKHandler().getActionbarManager().invalidate(this);
+        invalidateBypassState();
+        OutboundPacketSender.getInstance().getRouter().invalidate(uuid);
     }
 
     public void setActive() {
@@ -0,0 +1,127 @@
+package net.fameless.core.player;
+
+import net.fameless.core.config.Config;
+import net.fameless.core.util.SchedulerService;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Unloads the state of disconnected players once the configured grace period has passed.
+ *
+ * <p>Platforms report joins and disconnects. A player who is still offline when the grace period elapses is
+ * removed from {@link BAFKPlayer#REGISTRY} and every registered unload listener is invoked, so components holding
+ * per-player state can drop it. A player who reconnects in time keeps the existing instance.</p>
+ *
+ * <p>The platform registry is unregistered from in the same atomic step as {@link BAFKPlayer#REGISTRY}, so a player
+ * rejoining during an unload either keeps the existing instance or gets a new one registered in both.</p>
+ */
+public class PlayerLifecycleService {
+
+    private static class Holder {
+        private static final PlayerLifecycleService INSTANCE = new PlayerLifecycleService();
+    }
+
+    public static PlayerLifecycleService getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger("BungeeAFK/" + PlayerLifecycleService.class.getSimpleName());
+
+    private final List<Consumer<BAFKPlayer<?>>> unloadListeners = new CopyOnWriteArrayList<>();
+    private final Map<UUID, ScheduledFuture<?>> pendingUnloads = new ConcurrentHashMap<>();
+    private volatile PlayerRegistry<?> platformRegistry;
+
+    private PlayerLifecycleService() {
+    }
+
+    /**
+     * Registers a listener that is invoked after a player has been removed from the registry.
+     *
+     * @param listener drops any state held for the player
+     */
+    public void addUnloadListener(@NotNull Consumer<BAFKPlayer<?>> listener) {
+        unloadListeners.add(listener);
+    }
+
+    /**
+     * Sets the registry the platform creates its players in, which is unregistered from together with
+     * {@link BAFKPlayer#REGISTRY}.
+     */
+    public void setPlatformRegistry(@NotNull PlayerRegistry<?> platformRegistry) {
+        this.platformRegistry = platformRegistry;
+    }
+
+    public void handleJoin(@NotNull BAFKPlayer<?> player) {
+        ServerAudiences.getInstance().update(player);
+        AFKPresence.getInstance().update(player);
+        ScheduledFuture<?> pending = pendingUnloads.remove(player.getUniqueId());
+        if (pending != null) {
+            pending.cancel(false);
+        }
+    }
+
+    public void handleDisconnect(@NotNull BAFKPlayer<?> player) {
+        ServerAudiences.getInstance().remove(player);
+        AFKPresence.getInstance().remove(player);
+        long gracePeriod = Config.getInstance().getSnapshot().unloadGracePeriodMillis();
+        ScheduledFuture<?> previous = pendingUnloads.put(player.getUniqueId(),
+                SchedulerService.SCHEDULED_EXECUTOR.schedule(() -> unload(player), gracePeriod, TimeUnit.MILLISECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private void unload(@NotNull BAFKPlayer<?> player) {
+        pendingUnloads.remove(player.getUniqueId());
+        BooleanSupplier unregister = () -> player.isOffline() && BAFKPlayer.REGISTRY.unregister(player);
+        PlayerRegistry<?> platformRegistry = this.platformRegistry;
+        boolean unloaded = platformRegistry != null
+                ? platformRegistry.unregisterIf(player, unregister)
+                : unregister.getAsBoolean();
+        if (!unloaded) return;
+
+        for (Consumer<BAFKPlayer<?>> listener : unloadListeners) {
+            try {
+                listener.accept(player);
+            } catch (Exception e) {
+                logger.error("Error while unloading player {}", player.getName(), e);
+            }
+        }
+        logger.debug("Unloaded state of {}", player.getName());
+    }
+
+    /**
+     * Cancels all pending unloads, e.g. on shutdown.
+     */
+    public void shutdown() {
+        pendingUnloads.values().forEach(future -> future.cancel(false));
+        pendingUnloads.clear();
+    }
+
+    public int getTrackedPlayerCount() {
+        return BAFKPlayer.REGISTRY.size();
+    }
+
+    public int getOnlinePlayerCount() {
+        int online = 0;
+        for (BAFKPlayer<?> player : BAFKPlayer.PLAYERS) {
+            if (!player.isOffline()) online++;
+        }
+        return online;
+    }
+
+    public int getPendingUnloadCount() {
+        return pendingUnloads.size();
+    }
+}
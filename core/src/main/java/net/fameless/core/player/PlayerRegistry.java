@@ -0,0 +1,129 @@
+package net.fameless.core.player;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Concurrent player registry with constant-time lookups by unique id and by case-insensitive name.
+ *
+ * <p>Registration and lookups never copy the registry, and {@link #values()} is a live, weakly consistent view
+ * that can be iterated while players are added or removed.</p>
+ *
+ * @param <P> the player type
+ */
+public class PlayerRegistry<P extends BAFKPlayer<?>> {
+
+    private final Map<UUID, P> byUniqueId = new ConcurrentHashMap<>();
+    private final Map<String, P> byName = new ConcurrentHashMap<>();
+    private final Collection<P> values = Collections.unmodifiableCollection(byUniqueId.values());
+
+    /**
+     * Registers the player unless a player with the same unique id is already registered.
+     *
+     * @param player the player to register
+     *
+     * @return {@code true} if the player was registered, {@code false} if its unique id was already taken
+     */
+    public boolean register(@NotNull P player) {
+        if (byUniqueId.putIfAbsent(player.getUniqueId(), player) != null) return false;
+        indexName(player);
+        return true;
+    }
+
+    /**
+     * Returns the player registered for the unique id, creating and registering it atomically if absent.
+     *
+     * @param uuid    the unique id of the player
+     * @param factory creates the player if none is registered yet
+     *
+     * @return the registered player
+     */
+    public @NotNull P computeIfAbsent(@NotNull UUID uuid, @NotNull Function<UUID, ? extends P> factory) {
+        return byUniqueId.computeIfAbsent(uuid, id -> {
+            P player = factory.apply(id);
+            indexName(player);
+            return player;
+        });
+    }
+
+    /**
+     * Removes the player from the registry. The name index entry is only removed if it still points to this player.
+     *
+     * @param player the player to remove
+     *
+     * @return {@code true} if the player was registered
+     */
+    public boolean unregister(@NotNull P player) {
+        if (!byUniqueId.remove(player.getUniqueId(), player)) return false;
+        String key = nameKey(player.getName());
+        if (key != null) byName.remove(key, player);
+        return true;
+    }
+
+    /**
+     * Removes the player if the condition holds. The condition is evaluated and the player removed atomically with
+     * respect to {@link #computeIfAbsent} for the same unique id, so no new player is created for it in between.
+     *
+     * @param player    the player to remove
+     * @param condition evaluated only if the player is still registered
+     *
+     * @return {@code true} if the player was removed
+     */
+    public boolean unregisterIf(@NotNull BAFKPlayer<?> player, @NotNull BooleanSupplier condition) {
+        boolean[] removed = new boolean[1];
+        byUniqueId.computeIfPresent(player.getUniqueId(), (uuid, current) -> {
+            if (current != player || !condition.getAsBoolean()) return current;
+            removed[0] = true;
+            return null;
+        });
+        if (!removed[0]) return false;
+        String key = nameKey(player.getName());
+        if (key != null) byName.remove(key, player);
+        return true;
+    }
+
+    public @NotNull Optional<P> get(@NotNull UUID uuid) {
+        return Optional.ofNullable(byUniqueId.get(uuid));
+    }
+
+    public @NotNull Optional<P> get(@Nullable String name) {
+        String key = nameKey(name);
+        if (key == null) return Optional.empty();
+        return Optional.ofNullable(byName.get(key));
+    }
+
+    public boolean contains(@NotNull UUID uuid) {
+        return byUniqueId.containsKey(uuid);
+    }
+
+    /**
+     * @return a live, unmodifiable view of all registered players
+     */
+    public @NotNull @UnmodifiableView Collection<P> values() {
+        return values;
+    }
+
+    public int size() {
+        return byUniqueId.size();
+    }
+
+    private void indexName(@NotNull P player) {
+        String key = nameKey(player.getName());
+        if (key != null) byName.put(key, player);
+    }
+
+    private static @Nullable String nameKey(@Nullable String name) {
+        return name == null ? null : name.toLowerCase(Locale.ROOT);
+    }
+}
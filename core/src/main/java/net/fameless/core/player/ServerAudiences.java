@@ -0,0 +1,116 @@
+package net.fameless.core.player;
+
+import net.kyori.adventure.audience.Audience;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Groups the online players by the server they are connected to, so messages for a server only visit its players.
+ *
+ * <p>Players join a group through {@link PlayerLifecycleService#handleJoin} and {@link BAFKPlayer#onServerSwitch},
+ * and leave it on disconnect. Server names are compared case-insensitively.</p>
+ */
+public class ServerAudiences {
+
+    private static class Holder {
+        private static final ServerAudiences INSTANCE = new ServerAudiences();
+    }
+
+    public static ServerAudiences getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    private final Set<BAFKPlayer<?>> online = ConcurrentHashMap.newKeySet();
+    private final Map<String, Set<BAFKPlayer<?>>> groups = new ConcurrentHashMap<>();
+    private final Map<BAFKPlayer<?>, String> memberships = new ConcurrentHashMap<>();
+
+    private ServerAudiences() {
+    }
+
+    /**
+     * Moves the player into the group of their current server.
+     */
+    public void update(@NotNull BAFKPlayer<?> player) {
+        online.add(player);
+        String server = key(player.getCurrentServerName());
+        String previous = memberships.put(player, server);
+        if (server.equals(previous)) return;
+
+        if (previous != null) {
+            leave(previous, player);
+        }
+        // Added inside compute, so a concurrent leave() cannot drop the set this player is added to
+        groups.compute(server, (s, members) -> {
+            if (members == null) members = ConcurrentHashMap.newKeySet();
+            members.add(player);
+            return members;
+        });
+    }
+
+    public void remove(@NotNull BAFKPlayer<?> player) {
+        online.remove(player);
+        String previous = memberships.remove(player);
+        if (previous != null) {
+            leave(previous, player);
+        }
+    }
+
+    private void leave(@NotNull String server, @NotNull BAFKPlayer<?> player) {
+        groups.computeIfPresent(server, (s, members) -> {
+            members.remove(player);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    /**
+     * @return a live view of the online players
+     */
+    public @NotNull Collection<BAFKPlayer<?>> getOnlinePlayers() {
+        return Collections.unmodifiableSet(online);
+    }
+
+    /**
+     * @return a live view of the players connected to the server
+     */
+    public @NotNull Collection<BAFKPlayer<?>> getPlayers(@NotNull String serverName) {
+        Set<BAFKPlayer<?>> members = groups.get(key(serverName));
+        return members != null ? Collections.unmodifiableSet(members) : Set.of();
+    }
+
+    /**
+     * @return an audience forwarding to every online player except {@code except}
+     */
+    public @NotNull Audience online(@Nullable BAFKPlayer<?> except) {
+        return audience(online, except);
+    }
+
+    /**
+     * @return an audience forwarding to the players connected to the server except {@code except}
+     */
+    public @NotNull Audience server(@NotNull String serverName, @Nullable BAFKPlayer<?> except) {
+        Set<BAFKPlayer<?>> members = groups.get(key(serverName));
+        return members != null ? audience(members, except) : Audience.empty();
+    }
+
+    private static @NotNull Audience audience(@NotNull Collection<BAFKPlayer<?>> players, @Nullable BAFKPlayer<?> except) {
+        List<Audience> audiences = new ArrayList<>(players.size());
+        for (BAFKPlayer<?> player : players) {
+            if (player == except || player.isOffline()) continue;
+            audiences.add(player.getAudience());
+        }
+        return Audience.audience(audiences);
+    }
+
+    private static @NotNull String key(@Nullable String serverName) {
+        return serverName == null ? "" : serverName.toLowerCase(Locale.ROOT);
+    }
+}
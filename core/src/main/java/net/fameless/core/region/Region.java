@@ -14,7 +14,9 @@ public class Region {
     private final String worldName;
     private final Location corner1;
     private final Location corner2;
-    private boolean afkDetection;
+    private final double minX, minY, minZ;
+    private final double maxX, maxY, maxZ;
+    private volatile boolean afkDetection;
 
     public Region(String regionName, @NotNull Location corner1, @NotNull Location corner2, boolean afkDetection) {
         if (!corner1.worldName().equalsIgnoreCase(corner2.worldName())) {
@@ -25,6 +27,12 @@ public class Region {
         this.worldName = corner1.worldName();
         this.corner1 = corner1;
         this.corner2 = corner2;
+        this.minX = Math.min(corner1.x(), corner2.x());
+        this.minY = Math.min(corner1.y(), corner2.y());
+        this.minZ = Math.min(corner1.z(), corner2.z());
+        this.maxX = Math.max(corner1.x(), corner2.x());
+        this.maxY = Math.max(corner1.y(), corner2.y());
+        this.maxZ = Math.max(corner1.z(), corner2.z());
         this.afkDetection = afkDetection;
     }
 
@@ -55,32 +63,17 @@ public class Region {
     public boolean isLocationInRegion(@NotNull Location location) {
         if (!location.worldName().equalsIgnoreCase(worldName)) return false;
 
-        double minX = Math.min(corner1.x(), corner2.x());
-        double maxX = Math.max(corner1.x(), corner2.x());
-        double minY = Math.min(corner1.y(), corner2.y());
-        double maxY = Math.max(corner1.y(), corner2.y());
-        double minZ = Math.min(corner1.z(), corner2.z());
-        double maxZ = Math.max(corner1.z(), corner2.z());
-
         return location.x() >= minX && location.x() <= maxX &&
                 location.y() >= minY && location.y() <= maxY &&
                 location.z() >= minZ && location.z() <= maxZ;
     }
 
     public Location getMinimumCorner() {
-        return new Location(worldName,
-                Math.min(corner1.x(), corner2.x()),
-                Math.min(corner1.y(), corner2.y()),
-                Math.min(corner1.z(), corner2.z())
-        );
+        return new Location(worldName, minX, minY, minZ);
     }
 
     public Location getMaximumCorner() {
-        return new Location(worldName,
-                Math.max(corner1.x(), corner2.x()),
-                Math.max(corner1.y(), corner2.y()),
-                Math.max(corner1.z(), corner2.z())
-        );
+        return new Location(worldName, maxX, maxY, maxZ);
     }
 
     public double getVolume() {
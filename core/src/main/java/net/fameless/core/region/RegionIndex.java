@@ -0,0 +1,113 @@
+package net.fameless.core.region;
+
+import net.fameless.core.util.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Immutable spatial index of regions, built by {@link RegionService} whenever the regions change.
+ *
+ * <p>Regions are grouped per world and bucketed into a uniform grid of 16x16 columns (chunks), so a lookup only
+ * tests the regions overlapping the chunk of the location. Regions covering more than {@link #MAX_INDEXED_CHUNKS}
+ * chunks are not bucketed and are tested on every lookup in their world instead.</p>
+ */
+final class RegionIndex {
+
+    static final RegionIndex EMPTY = new RegionIndex(List.of());
+
+    private static final int CHUNK_SHIFT = 4;
+    private static final int MAX_INDEXED_CHUNKS = 4096;
+    private static final Region[] NO_REGIONS = new Region[0];
+
+    private final Map<String, WorldIndex> worlds;
+    private final Set<Region> regions;
+
+    RegionIndex(@NotNull List<Region> regions) {
+        Map<String, List<Region>> byWorld = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Region region : regions) {
+            byWorld.computeIfAbsent(region.getWorldName(), world -> new ArrayList<>()).add(region);
+        }
+
+        Map<String, WorldIndex> worlds = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        byWorld.forEach((world, worldRegions) -> worlds.put(world, new WorldIndex(worldRegions)));
+        this.worlds = Collections.unmodifiableMap(worlds);
+
+        Set<Region> identities = Collections.newSetFromMap(new IdentityHashMap<>());
+        identities.addAll(regions);
+        this.regions = Collections.unmodifiableSet(identities);
+    }
+
+    /**
+     * @return whether this exact region instance is part of the index
+     */
+    boolean contains(@NotNull Region region) {
+        return regions.contains(region);
+    }
+
+    /**
+     * @param bypassOnly whether only regions with AFK detection disabled are considered
+     *
+     * @return a region containing the location, or {@code null} if there is none
+     */
+    @Nullable Region find(@NotNull Location location, boolean bypassOnly) {
+        WorldIndex world = worlds.get(location.worldName());
+        if (world == null) return null;
+
+        Region region = find(world.grid.getOrDefault(chunkKey(location), NO_REGIONS), location, bypassOnly);
+        return region != null ? region : find(world.unindexed, location, bypassOnly);
+    }
+
+    private static @Nullable Region find(@NotNull Region[] candidates, @NotNull Location location, boolean bypassOnly) {
+        for (Region region : candidates) {
+            if (bypassOnly && region.isAfkDetectionEnabled()) continue;
+            if (region.isLocationInRegion(location)) return region;
+        }
+        return null;
+    }
+
+    private static long chunkKey(@NotNull Location location) {
+        return chunkKey((int) Math.floor(location.x()) >> CHUNK_SHIFT, (int) Math.floor(location.z()) >> CHUNK_SHIFT);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return (long) chunkX << 32 | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static final class WorldIndex {
+
+        private final Map<Long, Region[]> grid;
+        private final Region[] unindexed;
+
+        private WorldIndex(@NotNull List<Region> regions) {
+            Map<Long, List<Region>> buckets = new HashMap<>();
+            List<Region> unindexed = new ArrayList<>();
+
+            for (Region region : regions) {
+                Location min = region.getMinimumCorner();
+                Location max = region.getMaximumCorner();
+                int minChunkX = (int) Math.floor(min.x()) >> CHUNK_SHIFT;
+                int maxChunkX = (int) Math.floor(max.x()) >> CHUNK_SHIFT;
+                int minChunkZ = (int) Math.floor(min.z()) >> CHUNK_SHIFT;
+                int maxChunkZ = (int) Math.floor(max.z()) >> CHUNK_SHIFT;
+
+                long chunks = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+                if (chunks > MAX_INDEXED_CHUNKS) {
+                    unindexed.add(region);
+                    continue;
+                }
+                for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                    for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                        buckets.computeIfAbsent(chunkKey(chunkX, chunkZ), key -> new ArrayList<>(1)).add(region);
+                    }
+                }
+            }
+
+            Map<Long, Region[]> grid = new HashMap<>(Math.max(16, buckets.size() * 4 / 3 + 1));
+            buckets.forEach((key, bucket) -> grid.put(key, bucket.toArray(NO_REGIONS)));
+            this.grid = grid;
+            this.unindexed = unindexed.toArray(NO_REGIONS);
+        }
+    }
+}
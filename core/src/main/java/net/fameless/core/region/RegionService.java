@@ -1,8 +1,10 @@
 package net.fameless.core.region;
 
 import net.fameless.core.config.Config;
+import net.fameless.core.player.BAFKPlayer;
 import net.fameless.core.util.Location;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -26,6 +28,7 @@ public class RegionService {
     private static final Object writeLock = new Object();
 
     private volatile List<Region> regions = List.of();
+    private volatile RegionIndex index = RegionIndex.EMPTY;
 
     private RegionService() {
         logger.info("Initializing RegionService...");
@@ -35,7 +38,8 @@ public class RegionService {
     public void loadFromConfig() {
         synchronized (writeLock) {
             List<Region> loaded = readRegionsFromConfig();
-            regions = List.copyOf(loaded);
+            setRegions(loaded);
+            BAFKPlayer.invalidateAllBypassStates();
             logger.info("Loaded {} region(s)", regions.size());
         }
     }
@@ -46,7 +50,7 @@ public class RegionService {
 
             List<Region> newList = new ArrayList<>(regions);
             newList.add(region);
-            regions = List.copyOf(newList);
+            setRegions(newList);
 
             saveRegionsToConfig(newList);
             return true;
@@ -59,12 +63,19 @@ public class RegionService {
             boolean removed = newList.removeIf(r -> r.getRegionName().equalsIgnoreCase(name));
             if (!removed) return false;
 
-            regions = List.copyOf(newList);
+            setRegions(newList);
             saveRegionsToConfig(newList);
             return true;
         }
     }
 
+    public void toggleAfkDetection(@NotNull Region region) {
+        synchronized (writeLock) {
+            region.toggleAfkDetection();
+            BAFKPlayer.invalidateAllBypassStates();
+        }
+    }
+
     public boolean containsRegion(String name) {
         for (Region r : regions) {
             if (r.getRegionName().equalsIgnoreCase(name)) {
@@ -85,11 +96,16 @@ public class RegionService {
 
     public void clearRegions() {
         synchronized (writeLock) {
-            regions = List.of();
+            setRegions(List.of());
             saveRegionsToConfig(regions);
         }
     }
 
+    private void setRegions(@NotNull List<Region> regions) {
+        this.regions = List.copyOf(regions);
+        this.index = new RegionIndex(this.regions);
+    }
+
     private @NotNull List<Region> readRegionsFromConfig() {
         List<Region> list = new ArrayList<>();
         Map<String, Object> regionSection = Config.getInstance().getSection("bypass-regions");
@@ -115,21 +131,27 @@ public class RegionService {
     }
 
     public boolean isLocationInAnyRegion(@NotNull Location location) {
-        for (Region region : regions) {
-            if (region.isLocationInRegion(location)) {
-                return true;
-            }
-        }
-        return false;
+        return index.find(location, false) != null;
     }
 
     public boolean isLocationInAnyBypassRegion(@NotNull Location location) {
-        for (Region region : regions) {
-            if (region.isLocationInRegion(location) && !region.isAfkDetectionEnabled()) {
-                return true;
-            }
+        return getBypassRegion(location, null) != null;
+    }
+
+    /**
+     * Finds a region with AFK detection disabled that contains the location.
+     *
+     * @param lastHit the region returned by the previous lookup for the same player, if any. It is tested first,
+     *                since players usually stay within a region for a while
+     *
+     * @return a bypass region containing the location, or {@code null} if there is none
+     */
+    public @Nullable Region getBypassRegion(@NotNull Location location, @Nullable Region lastHit) {
+        RegionIndex index = this.index;
+        if (lastHit != null && !lastHit.isAfkDetectionEnabled() && index.contains(lastHit) && lastHit.isLocationInRegion(location)) {
+            return lastHit;
         }
-        return false;
+        return index.find(location, true);
     }
 
     public List<Region> getRegions() {
@@ -1,47 +1,42 @@
 package net.fameless.core.tab;
 
 import me.neznamy.tab.api.TabAPI;
-import net.fameless.core.handling.AFKState;
+import net.fameless.core.player.AFKPresence;
 import net.fameless.core.player.BAFKPlayer;
 
-import java.util.List;
-
 public class TabPlaceholder {
 
     private TabPlaceholder() {
     }
 
     public static void register() {
+        // Values are maintained by AFKPresence as states change, so refreshing only reads cached fields
+        AFKPresence presence = AFKPresence.getInstance();
+
         TabAPI.getInstance().getPlaceholderManager().registerPlayerPlaceholder(
                 "%bafk_user_afk%", 50, player -> {
                     BAFKPlayer<?> bafkPlayer = BAFKPlayer.of(player.getUniqueId()).orElse(null);
                     if (bafkPlayer == null) {
                         return "";
                     }
-                    return String.valueOf(bafkPlayer.getAfkState().equals(AFKState.AFK) || bafkPlayer.getAfkState().equals(AFKState.ACTION_TAKEN));
+                    return String.valueOf(presence.isAfk(bafkPlayer));
                 }
         );
 
         TabAPI.getInstance().getPlaceholderManager().registerServerPlaceholder(
-                "%bafk_afk_users%", 50, () -> {
-                    List<String> afkPlayers = BAFKPlayer.PLAYERS.stream()
-                            .filter(player -> !player.isOffline())
-                            .filter(player -> player.getAfkState().equals(AFKState.AFK) || player.getAfkState().equals(AFKState.ACTION_TAKEN))
-                            .map(BAFKPlayer::getName)
-                            .toList();
-                    return String.join(", ", afkPlayers);
-                }
+                "%bafk_afk_users%", 50, presence::getAfkNames
         );
 
         TabAPI.getInstance().getPlaceholderManager().registerServerPlaceholder(
-                "%bafk_active_users%", 50, () -> {
-                    List<String> activePlayers = BAFKPlayer.PLAYERS.stream()
-                            .filter(player -> !player.isOffline())
-                            .filter(player -> !(player.getAfkState().equals(AFKState.AFK) || player.getAfkState().equals(AFKState.ACTION_TAKEN)))
-                            .map(BAFKPlayer::getName)
-                            .toList();
-                    return String.join(", ", activePlayers);
-                }
+                "%bafk_active_users%", 50, presence::getActiveNames
+        );
+
+        TabAPI.getInstance().getPlaceholderManager().registerServerPlaceholder(
+                "%bafk_afk_count%", 50, () -> String.valueOf(presence.getAfkCount())
+        );
+
+        TabAPI.getInstance().getPlaceholderManager().registerServerPlaceholder(
+                "%bafk_active_count%", 50, () -> String.valueOf(presence.getActiveCount())
         );
     }
 }
@@ -0,0 +1,40 @@
+package net.fameless.core.util;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Packs the block position of a location into a single {@code long}.
+ *
+ * <p>The key consists of a hash of the world name (10 bits), the block x and z coordinates (21 bits each) and the
+ * block y coordinate (12 bits). No state is kept per world. Worlds whose names hash alike and coordinates outside of
+ * the representable range, i.e. blocks more than a million blocks apart, may share a key; callers must only use keys
+ * where such collisions are harmless, or compare the world names as well.</p>
+ */
+public final class BlockKey {
+
+    private static final int WORLD_BITS = 10;
+    private static final int XZ_BITS = 21;
+    private static final int Y_BITS = 12;
+
+    private BlockKey() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    public static long of(@NotNull Location location) {
+        return of(location.worldName(), (int) Math.floor(location.x()), (int) Math.floor(location.y()), (int) Math.floor(location.z()));
+    }
+
+    public static long of(@NotNull String worldName, int blockX, int blockY, int blockZ) {
+        long world = worldHash(worldName) & ((1L << WORLD_BITS) - 1);
+        long x = blockX & ((1L << XZ_BITS) - 1);
+        long z = blockZ & ((1L << XZ_BITS) - 1);
+        long y = blockY & ((1L << Y_BITS) - 1);
+        return world << (XZ_BITS + XZ_BITS + Y_BITS) | x << (XZ_BITS + Y_BITS) | z << Y_BITS | y;
+    }
+
+    private static int worldHash(@NotNull String worldName) {
+        // String caches its hash; the upper bits are folded in so that all of it contributes to the key
+        int hash = worldName.hashCode();
+        return hash ^ (hash >>> WORLD_BITS) ^ (hash >>> (2 * WORLD_BITS));
+    }
+}
@@ -1,23 +1,40 @@
 package net.fameless.core.util;
 
+import net.fameless.core.handling.BroadcastStrategy;
 import net.fameless.core.player.BAFKPlayer;
+import net.fameless.core.player.ServerAudiences;
 import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.function.Predicate;
-import java.util.stream.Stream;
 
 public class MessageBroadcaster {
 
+    /**
+     * Sends the message once to the audience the strategy selects for {@code whoSent}.
+     */
+    public static void broadcast(@Nullable Component message, @NotNull BroadcastStrategy strategy, @NotNull BAFKPlayer<?> whoSent) {
+        if (message == null) return;
+        strategy.audience(whoSent).sendMessage(message);
+    }
+
     @SafeVarargs
-    public static void broadcastMessageToFiltered(Component message, Predicate<BAFKPlayer<?>>... filters) {
-        Predicate<BAFKPlayer<?>> combinedFilter = Stream.of(filters)
-                .reduce(Predicate::and)
-                .orElse(player -> true);
-
-        BAFKPlayer.PLAYERS.stream()
-                .filter(PlayerFilters.isOnline())
-                .filter(combinedFilter)
-                .forEach(player -> player.sendMessage(message));
+    public static void broadcastMessageToFiltered(@Nullable Component message, Predicate<BAFKPlayer<?>>... filters) {
+        if (message == null) return;
+
+        for (BAFKPlayer<?> player : ServerAudiences.getInstance().getOnlinePlayers()) {
+            if (!player.isOffline() && matchesAll(player, filters)) {
+                player.sendMessage(message);
+            }
+        }
+    }
+
+    private static boolean matchesAll(@NotNull BAFKPlayer<?> player, Predicate<BAFKPlayer<?>>[] filters) {
+        for (Predicate<BAFKPlayer<?>> filter : filters) {
+            if (!filter.test(player)) return false;
+        }
+        return true;
     }
 
 }
@@ -25,7 +25,15 @@ public class PluginPaths {
         return BASE_FOLDER.resolve("storage").resolve("persisted_states.json");
     }
 
-    public static @NotNull Path getAutoClickerDetectionHistoryFile() {
+    public static @NotNull Path getPersistedStatesJournalFile() {
+        return BASE_FOLDER.resolve("storage").resolve("persisted_states.journal");
+    }
+
+    public static @NotNull Path getLegacyDetectionHistoryFile() {
         return BASE_FOLDER.resolve("storage").resolve("detection_history.json");
     }
+
+    public static @NotNull Path getDetectionHistoryLogFile() {
+        return BASE_FOLDER.resolve("storage").resolve("detection_history.jsonl");
+    }
 }
@@ -0,0 +1,152 @@
+package net.fameless.core.util;
+
+import java.util.Arrays;
+
+/**
+ * Mean and standard deviation over the last {@code capacity} values of a stream.
+ *
+ * <p>Values are kept in a primitive ring buffer. The statistics are updated incrementally with Welford's algorithm,
+ * extended to replace the oldest value once the buffer is full, so adding a value is O(1) and does not allocate.
+ * Removing a value cancels its contribution only up to rounding, so the statistics are recomputed from the buffer
+ * after every {@code capacity} removals, which keeps updates amortized O(1). The standard deviation is the
+ * population standard deviation.</p>
+ *
+ * <p>Not thread-safe.</p>
+ */
+public class RollingStatistics {
+
+    private final long[] values;
+    private int head = 0;
+    private int size = 0;
+    private double mean = 0;
+    private double m2 = 0;
+    private int removalsSinceRecompute = 0;
+
+    /**
+     * @param capacity number of most recent values the statistics are calculated over; must be positive
+     */
+    public RollingStatistics(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        this.values = new long[capacity];
+    }
+
+    /**
+     * Adds a value, replacing the oldest value if the buffer is full.
+     */
+    public void add(long value) {
+        if (size < values.length) {
+            values[(head + size) % values.length] = value;
+            size++;
+            double delta = value - mean;
+            mean += delta / size;
+            m2 += delta * (value - mean);
+            return;
+        }
+
+        long evicted = values[head];
+        values[head] = value;
+        head = (head + 1) % values.length;
+
+        double previousMean = mean;
+        mean += (double) (value - evicted) / size;
+        m2 += (value - evicted) * (value - mean + evicted - previousMean);
+        if (m2 < 0) m2 = 0;
+        if (++removalsSinceRecompute >= values.length) recompute();
+    }
+
+    /**
+     * Removes the oldest value.
+     *
+     * @return the removed value
+     * @throws IllegalStateException if the buffer is empty
+     */
+    public long removeOldest() {
+        if (size == 0) throw new IllegalStateException("buffer is empty");
+
+        long removed = values[head];
+        head = (head + 1) % values.length;
+        size--;
+        if (size == 0) {
+            clear();
+            return removed;
+        }
+        if (size == 1) {
+            mean = values[head];
+            m2 = 0;
+            removalsSinceRecompute = 0;
+            return removed;
+        }
+
+        double previousMean = mean;
+        mean -= (removed - mean) / size;
+        m2 -= (removed - previousMean) * (removed - mean);
+        if (m2 < 0) m2 = 0;
+        if (++removalsSinceRecompute >= values.length) recompute();
+        return removed;
+    }
+
+    private void recompute() {
+        removalsSinceRecompute = 0;
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += values[(head + i) % values.length];
+        }
+        mean = sum / size;
+        m2 = 0;
+        for (int i = 0; i < size; i++) {
+            double delta = values[(head + i) % values.length] - mean;
+            m2 += delta * delta;
+        }
+    }
+
+    /**
+     * @return the oldest value in the buffer; only valid if the buffer is not empty
+     */
+    public long oldest() {
+        return values[head];
+    }
+
+    public boolean isFull() {
+        return size == values.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public double mean() {
+        return mean;
+    }
+
+    public double stdDev() {
+        return size == 0 ? 0 : Math.sqrt(m2 / size);
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+        mean = 0;
+        m2 = 0;
+        removalsSinceRecompute = 0;
+    }
+
+    /**
+     * @return a copy of the values, from oldest to newest
+     */
+    public long[] toArray() {
+        long[] copy = new long[size];
+        for (int i = 0; i < size; i++) {
+            copy[i] = values[(head + i) % values.length];
+        }
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,121 @@
+package net.fameless.core.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * A hashed timing wheel that buckets elements by the tick on which they become due.
+ *
+ * <p>The wheel is driven externally: every call to {@link #advance()} moves the wheel forward by one tick
+ * and returns the elements whose deadline has been reached. Scheduling, rescheduling and cancelling an element
+ * are O(1); deadlines further away than one revolution are kept in their slot and skipped until the
+ * remaining rounds have elapsed.</p>
+ *
+ * <p>Each element can be scheduled at most once. Scheduling an element that is already scheduled replaces
+ * its previous deadline. All operations are thread-safe.</p>
+ *
+ * @param <E> the element type
+ */
+public class TimingWheel<E> {
+
+    private final List<Set<E>> slots;
+    private final Map<E, Deadline> deadlines = new HashMap<>();
+    private final long tickMillis;
+    private long currentTick = 0;
+
+    /**
+     * Creates a new timing wheel.
+     *
+     * @param slotCount  number of slots in one revolution of the wheel; must be positive
+     * @param tickMillis duration of a single tick in milliseconds; must be positive
+     */
+    public TimingWheel(int slotCount, long tickMillis) {
+        if (slotCount <= 0) throw new IllegalArgumentException("slotCount must be positive");
+        if (tickMillis <= 0) throw new IllegalArgumentException("tickMillis must be positive");
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new HashSet<>());
+        }
+    }
+
+    /**
+     * Schedules the element to become due after the given delay, replacing any previous deadline.
+     * The delay is rounded up to whole ticks; an element is never due earlier than the next tick.
+     *
+     * @param element     the element to schedule
+     * @param delayMillis the delay in milliseconds
+     */
+    public synchronized void schedule(@NotNull E element, long delayMillis) {
+        long ticks = Math.max(1, Math.ceilDiv(delayMillis, tickMillis));
+        long deadlineTick = currentTick + ticks;
+        int slot = (int) Math.floorMod(deadlineTick, (long) slots.size());
+
+        Deadline previous = deadlines.put(element, new Deadline(deadlineTick, slot));
+        if (previous != null) {
+            slots.get(previous.slot()).remove(element);
+        }
+        slots.get(slot).add(element);
+    }
+
+    /**
+     * Removes the element from the wheel.
+     *
+     * @param element the element to cancel
+     *
+     * @return {@code true} if the element was scheduled, {@code false} otherwise
+     */
+    public synchronized boolean cancel(@NotNull E element) {
+        Deadline previous = deadlines.remove(element);
+        if (previous == null) return false;
+        slots.get(previous.slot()).remove(element);
+        return true;
+    }
+
+    public synchronized boolean isScheduled(@NotNull E element) {
+        return deadlines.containsKey(element);
+    }
+
+    /**
+     * Advances the wheel by one tick and removes every element whose deadline has been reached.
+     *
+     * @return the elements that became due on this tick, in no particular order
+     */
+    public synchronized @NotNull List<E> advance() {
+        currentTick++;
+        Set<E> slot = slots.get((int) Math.floorMod(currentTick, (long) slots.size()));
+        if (slot.isEmpty()) return List.of();
+
+        List<E> due = new ArrayList<>();
+        Iterator<E> iterator = slot.iterator();
+        while (iterator.hasNext()) {
+            E element = iterator.next();
+            if (deadlines.get(element).tick() <= currentTick) {
+                iterator.remove();
+                deadlines.remove(element);
+                due.add(element);
+            }
+        }
+        return due;
+    }
+
+    /**
+     * Removes all scheduled elements.
+     */
+    public synchronized void clear() {
+        slots.forEach(Set::clear);
+        deadlines.clear();
+    }
+
+    public synchronized int size() {
+        return deadlines.size();
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    private record Deadline(long tick, int slot) {
+    }
+}
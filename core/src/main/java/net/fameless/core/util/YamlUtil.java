@@ -39,6 +39,10 @@ public class YamlUtil {
                         # Note: Changing this value requires updating the Spigot server configuration as well\s
                         netty-port: %d
 
+                        # Number of threads handling the connections to the Spigot servers
+                        # One or two threads are sufficient for up to a few hundred servers
+                        netty-worker-threads: %d
+
                         # Delay after which the warning message is sent to the player (seconds) | Lang entry: "notification.afk_warning"
                         # e.g., if set to 60, the player will receive a warning message after 1 minute of inactivity
                         warning-delay: %d
@@ -72,6 +76,11 @@ public class YamlUtil {
                         # Affected language keys: 'actionbar.afk', 'actionbar.afk_moved'
                         actionbar: %b
 
+                        # Interval after which an unchanged action bar message is sent again (seconds)
+                        # The client fades the action bar after about 3 seconds, so the message is refreshed before that
+                        # Changed messages are always sent immediately
+                        actionbar-refresh-interval: %d
+
                         # AFK zone configuration
                         # If the action is set to "teleport", the player will be teleported to this location
                         afk-location:
@@ -107,6 +116,10 @@ public class YamlUtil {
                         # Time unit is in seconds
                         afk-command-cooldown: %d
 
+                        # Time after which the state of a disconnected player is unloaded from memory (seconds)
+                        # Players who reconnect within this time keep their AFK state, detection samples and cooldowns
+                        unload-grace-period: %d
+
                         # Map of regions where AFK detection can be toggled on or off independently
                         # Players in regions where AFK detection is false will not be marked as AFK, and no actions will be performed
                         # Regions should be added using the /bafk region add <param> command
@@ -186,10 +199,22 @@ public class YamlUtil {
 
                           certainty-threshold: %f  # Minimum certainty required to trigger detection (0.0 - 1.0)
                           sample-size: %d          # Number of movement samples on the same location to analyze in a rolling window
+
+                        # Detection History Settings
+                        # Detections are appended to 'storage/detection_history.jsonl' and compacted in the background
+                        detection-history:
+                          # Time after which a detection is removed from the history (days)
+                          # If set to 0, detections are never removed because of their age
+                          retention-days: %d
+
+                          # Maximum number of detections kept in the history; the oldest ones are removed first
+                          # If set to 0, the number of detections is not limited
+                          max-entries: %d
                         """,
                 Config.getInstance().getBoolean("overwrite-file-changes", true),
                 Caption.getCurrentLanguage().toLowerCase(Locale.US),
                 Config.getInstance().getInt("netty-port", 9000),
+                Config.getInstance().getInt("netty-worker-threads", 2),
                 Config.getInstance().getInt("warning-delay", 60),
                 Config.getInstance().getInt("afk-delay", 600),
                 Config.getInstance().getInt("action-delay", 630),
@@ -197,6 +222,7 @@ public class YamlUtil {
                 Config.getInstance().getString("afk-server-name", ""),
                 Config.getInstance().getBoolean("reduce-simulation-distance", false),
                 Config.getInstance().getBoolean("actionbar", true),
+                Config.getInstance().getInt("actionbar-refresh-interval", 2),
                 Config.getInstance().getSection("afk-location").get("world"),
                 Config.getInstance().getSection("afk-location").get("x"),
                 Config.getInstance().getSection("afk-location").get("y"),
@@ -206,6 +232,7 @@ public class YamlUtil {
                 Config.getInstance().getString("broadcast-strategy", BroadcastStrategy.PER_SERVER.name()),
                 Config.getInstance().getStringList("suppressed-messages"),
                 Config.getInstance().getInt("afk-command-cooldown", 10),
+                Config.getInstance().getInt("unload-grace-period", 60),
                 YAML.dumpAsMap(Map.of("bypass-regions", Config.getInstance().getSection("bypass-regions"))),
                 Config.getInstance().getBoolean("auto-clicker.enabled", true),
                 Config.getInstance().getBoolean("auto-clicker.allow-bypass", true),
@@ -225,7 +252,9 @@ public class YamlUtil {
                 Config.getInstance().getStringList("movement-pattern.disabled-servers"),
                 Config.getInstance().getInt("movement-pattern.clear-after", 600),
                 Config.getInstance().getDouble("movement-pattern.certainty-threshold", 0.9),
-                Config.getInstance().getInt("movement-pattern.sample-size", 5)
+                Config.getInstance().getInt("movement-pattern.sample-size", 5),
+                Config.getInstance().getInt("detection-history.retention-days", 90),
+                Config.getInstance().getInt("detection-history.max-entries", 50000)
         );
     }
 
@@ -0,0 +1,161 @@
+package net.fameless.core.detection.history;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DetectionIndexTest {
+
+    private static final List<String> NAMES = List.of("Steve", "Alex", "Notch", "jeb_");
+    private static final List<String> SERVERS = List.of("lobby", "Survival", "creative");
+    private static final List<UUID> IDS = List.of(
+            UUID.fromString("5b3c2f3e-7a1d-4c0b-9e8f-1a2b3c4d5e6f"),
+            UUID.fromString("0f1e2d3c-4b5a-4968-8776-a5b4c3d2e1f0"),
+            UUID.fromString("9a8b7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d")
+    );
+    private static final List<DetectionType> TYPES_AND_ANY = new ArrayList<>();
+
+    static {
+        TYPES_AND_ANY.add(null);
+        TYPES_AND_ANY.addAll(List.of(DetectionType.values()));
+    }
+
+    /**
+     * @return the matching detections of the reference list, newest first, as the index pages them
+     */
+    private static List<Detection> expectedPage(List<Detection> reference, Predicate<Detection> filter, int offset, int limit) {
+        List<Detection> matching = new ArrayList<>();
+        for (int i = reference.size() - 1; i >= 0; i--) {
+            if (filter.test(reference.get(i))) matching.add(reference.get(i));
+        }
+        int from = Math.min(offset, matching.size());
+        return matching.subList(from, Math.min(matching.size(), from + limit));
+    }
+
+    private static Predicate<Detection> ofType(DetectionType type) {
+        return detection -> type == null || detection.type() == type;
+    }
+
+    private static void assertMatches(List<Detection> reference, DetectionIndex index, Random random) {
+        assertEquals(reference.size(), index.size());
+        assertEquals(reference, index.all());
+        assertEquals(reference.isEmpty() ? null : reference.getFirst(), index.oldest());
+
+        int offset = random.nextInt(5);
+        int limit = 1 + random.nextInt(8);
+        for (DetectionType type : TYPES_AND_ANY) {
+            assertEquals(expectedPage(reference, ofType(type), offset, limit), index.page(type, offset, limit));
+
+            for (UUID id : IDS) {
+                Predicate<Detection> filter = ofType(type).and(detection -> id.equals(detection.playerId()));
+                assertEquals(expectedPage(reference, filter, offset, limit), index.pageByPlayer(id, type, offset, limit));
+                assertEquals(expectedPage(reference, filter, 0, Integer.MAX_VALUE).size(), index.countByPlayer(id, type));
+            }
+            for (String name : NAMES) {
+                // Looked up in a different case than stored
+                String query = name.toUpperCase(Locale.ROOT);
+                Predicate<Detection> filter = ofType(type).and(detection -> detection.playerName().equalsIgnoreCase(name));
+                assertEquals(expectedPage(reference, filter, offset, limit), index.pageByPlayerName(query, type, offset, limit));
+                assertEquals(expectedPage(reference, filter, 0, Integer.MAX_VALUE).size(), index.countByPlayerName(query, type));
+            }
+            for (String server : SERVERS) {
+                Predicate<Detection> filter = ofType(type).and(detection -> detection.serverName().equalsIgnoreCase(server));
+                assertEquals(expectedPage(reference, filter, offset, limit), index.pageByServer(server.toLowerCase(Locale.ROOT), type, offset, limit));
+            }
+
+            // One name per player, spelled as in their most recent detection
+            Map<String, String> names = new HashMap<>();
+            reference.stream().filter(ofType(type)).forEach(detection ->
+                    names.put(detection.playerName().toLowerCase(Locale.ROOT), detection.playerName()));
+            assertEquals(new HashSet<>(names.values()), new HashSet<>(index.playerNames(type)));
+        }
+
+        if (reference.isEmpty()) return;
+        long first = reference.getFirst().timestamp();
+        long last = reference.getLast().timestamp();
+        long from = first + (long) (random.nextDouble() * (last - first + 1));
+        long to = from + random.nextLong(TimeUnit.HOURS.toMillis(5));
+        for (DetectionType type : TYPES_AND_ANY) {
+            Predicate<Detection> filter = ofType(type).and(detection -> detection.timestamp() >= from && detection.timestamp() < to);
+            assertEquals(expectedPage(reference, filter, offset, limit), index.pageBetween(from, to, type, offset, limit));
+        }
+    }
+
+    @Test
+    void matchesReferenceList() {
+        Random random = new Random(3);
+        DetectionIndex index = new DetectionIndex();
+        List<Detection> reference = new ArrayList<>();
+        long timestamp = TimeUnit.DAYS.toMillis(20_000);
+
+        for (int step = 0; step < 3_000; step++) {
+            // Grows the history first, then keeps it at a steady size as the store does at its limit
+            if (!reference.isEmpty() && random.nextInt(step < 1_500 ? 4 : 2) == 0) {
+                assertEquals(reference.removeFirst(), index.removeOldest());
+            } else {
+                timestamp += random.nextLong(TimeUnit.MINUTES.toMillis(20));
+                int player = random.nextInt(NAMES.size());
+                // Detections recorded by older versions have no player id
+                UUID playerId = player < IDS.size() ? IDS.get(player) : null;
+                String name = random.nextBoolean() ? NAMES.get(player) : NAMES.get(player).toLowerCase(Locale.ROOT);
+                Detection detection = new Detection(
+                        DetectionType.values()[random.nextInt(DetectionType.values().length)],
+                        timestamp,
+                        SERVERS.get(random.nextInt(SERVERS.size())),
+                        name,
+                        playerId
+                );
+                reference.add(detection);
+                index.add(detection);
+            }
+            if (step % 10 == 0) {
+                assertMatches(reference, index, random);
+            }
+        }
+
+        while (!reference.isEmpty()) {
+            assertEquals(reference.removeFirst(), index.removeOldest());
+        }
+        assertMatches(reference, index, random);
+        assertNull(index.removeOldest());
+    }
+
+    @Test
+    void playerNamesUseMostRecentSpelling() {
+        DetectionIndex index = new DetectionIndex();
+        index.add(new Detection(DetectionType.AUTO_CLICKER, 1_000, "lobby", "steve", IDS.getFirst()));
+        index.add(new Detection(DetectionType.AUTO_CLICKER, 2_000, "lobby", "Steve", IDS.getFirst()));
+
+        assertEquals(List.of("Steve"), index.playerNames(null));
+        assertEquals(List.of("Steve"), index.playerNames(DetectionType.AUTO_CLICKER));
+        assertEquals(List.of(), index.playerNames(DetectionType.MOVEMENT_PATTERN));
+    }
+
+    @Test
+    void pageBetweenIsHalfOpen() {
+        DetectionIndex index = new DetectionIndex();
+        long hour = TimeUnit.HOURS.toMillis(1);
+        Detection atStart = new Detection(DetectionType.AUTO_CLICKER, hour, "lobby", "Steve", null);
+        Detection beforeEnd = new Detection(DetectionType.MOVEMENT_PATTERN, 2 * hour - 1, "lobby", "Steve", null);
+        Detection atEnd = new Detection(DetectionType.AUTO_CLICKER, 2 * hour, "lobby", "Steve", null);
+        index.add(atStart);
+        index.add(beforeEnd);
+        index.add(atEnd);
+
+        assertEquals(List.of(beforeEnd, atStart), index.pageBetween(hour, 2 * hour, null, 0, 10));
+        assertEquals(List.of(atStart), index.pageBetween(hour, 2 * hour, DetectionType.AUTO_CLICKER, 0, 10));
+        assertEquals(List.of(), index.pageBetween(2 * hour, 2 * hour, null, 0, 10));
+        assertEquals(List.of(), index.pageBetween(hour, 3 * hour, null, 0, 0));
+    }
+}
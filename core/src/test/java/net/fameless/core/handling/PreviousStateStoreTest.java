@@ -0,0 +1,194 @@
+package net.fameless.core.handling;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import net.fameless.core.player.GameMode;
+import net.fameless.core.util.Location;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PreviousStateStoreTest {
+
+    private static final UUID FIRST = UUID.fromString("5b3c2f3e-7a1d-4c0b-9e8f-1a2b3c4d5e6f");
+    private static final UUID SECOND = UUID.fromString("0f1e2d3c-4b5a-4968-8776-a5b4c3d2e1f0");
+    private static final UUID THIRD = UUID.fromString("9a8b7c6d-5e4f-4a3b-8c2d-1e0f9a8b7c6d");
+    private static final Location LOCATION = new Location("world_nether", 12.5, 64, -1_000.25, -90f, 179.5f);
+
+    @TempDir
+    Path directory;
+
+    private Path snapshotFile;
+    private Path journalFile;
+
+    @BeforeEach
+    void setUp() {
+        snapshotFile = directory.resolve("persisted_states.json");
+        journalFile = directory.resolve("persisted_states.journal");
+    }
+
+    private PreviousStateStore load() {
+        PreviousStateStore store = new PreviousStateStore(snapshotFile, journalFile);
+        store.load();
+        return store;
+    }
+
+    private static String entry(long seq, String map, UUID uuid, String value) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("seq", seq);
+        entry.addProperty("map", map);
+        entry.addProperty("uuid", uuid.toString());
+        if (value != null) {
+            entry.addProperty("value", value);
+        }
+        return entry + "\n";
+    }
+
+    private static String locationEntry(long seq, UUID uuid, Location location) {
+        JsonObject entry = new JsonObject();
+        entry.addProperty("seq", seq);
+        entry.addProperty("map", "location");
+        entry.addProperty("uuid", uuid.toString());
+        entry.add("value", location.toJson());
+        return entry + "\n";
+    }
+
+    private void writeSnapshot(long seq, String server) throws IOException {
+        JsonObject servers = new JsonObject();
+        servers.addProperty(FIRST.toString(), server);
+        JsonObject root = new JsonObject();
+        root.addProperty("seq", seq);
+        root.add("server", servers);
+        Files.writeString(snapshotFile, root.toString());
+    }
+
+    private long snapshotSequence() throws IOException {
+        return JsonParser.parseString(Files.readString(snapshotFile)).getAsJsonObject().get("seq").getAsLong();
+    }
+
+    @Test
+    void replaySkipsEntriesContainedInSnapshot() throws IOException {
+        writeSnapshot(2, "lobby");
+        Files.writeString(journalFile,
+                entry(1, "server", SECOND, "stale")
+                        + entry(2, "server", FIRST, null)
+                        + entry(3, "server", THIRD, "survival")
+                        + locationEntry(4, FIRST, LOCATION)
+                        + entry(5, "game_mode", FIRST, "creative"));
+
+        PreviousStateStore store = load();
+
+        assertEquals("lobby", store.getServer(FIRST));
+        assertNull(store.getServer(SECOND));
+        assertEquals("survival", store.getServer(THIRD));
+        assertEquals(LOCATION, store.getLocation(FIRST));
+        assertEquals(GameMode.CREATIVE, store.getGameMode(FIRST));
+        // Loading compacts the replayed entries into the snapshot
+        assertEquals(5, snapshotSequence());
+        assertEquals(0, Files.size(journalFile));
+    }
+
+    @Test
+    void ignoresPartiallyWrittenLastLine() throws IOException {
+        Files.writeString(journalFile,
+                entry(1, "server", FIRST, "lobby")
+                        + "{\"seq\":2,\"map\":\"server\",\"uui");
+
+        PreviousStateStore store = load();
+        assertEquals("lobby", store.getServer(FIRST));
+
+        store.putServer(SECOND, "survival");
+        store.shutdown();
+
+        PreviousStateStore reloaded = load();
+        assertEquals("lobby", reloaded.getServer(FIRST));
+        assertEquals("survival", reloaded.getServer(SECOND));
+    }
+
+    @Test
+    void recoversFromCrashBetweenSnapshotMoveAndJournalTruncation() throws IOException {
+        PreviousStateStore store = load();
+        store.putServer(FIRST, "lobby");
+        store.putLocationAndGameMode(SECOND, LOCATION, GameMode.ADVENTURE);
+        store.removeServer(FIRST);
+        store.putServer(FIRST, "hub");
+        store.shutdown();
+        assertEquals(5, snapshotSequence());
+
+        // The snapshot has been moved into place, but the journal still holds the compacted changes
+        Files.writeString(journalFile,
+                entry(1, "server", FIRST, "lobby")
+                        + locationEntry(2, SECOND, LOCATION)
+                        + entry(3, "game_mode", SECOND, "ADVENTURE")
+                        + entry(4, "server", FIRST, null)
+                        + entry(5, "server", FIRST, "hub"));
+
+        PreviousStateStore recovered = load();
+        assertEquals("hub", recovered.getServer(FIRST));
+        assertEquals(LOCATION, recovered.getLocation(SECOND));
+        assertEquals(GameMode.ADVENTURE, recovered.getGameMode(SECOND));
+
+        // Changes after the recovery are numbered after the snapshot, so they are not skipped on the next load
+        recovered.removeServer(FIRST);
+        recovered.shutdown();
+        assertEquals(6, snapshotSequence());
+
+        PreviousStateStore reloaded = load();
+        assertNull(reloaded.getServer(FIRST));
+        assertEquals(LOCATION, reloaded.getLocation(SECOND));
+    }
+
+    @Test
+    void ignoresTemporarySnapshotLeftByCrashBeforeMove() throws IOException {
+        writeSnapshot(1, "lobby");
+        Files.writeString(journalFile, entry(2, "server", SECOND, "survival"));
+        Files.writeString(snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp"), "{\"seq\":9,\"serv");
+
+        PreviousStateStore store = load();
+
+        assertEquals("lobby", store.getServer(FIRST));
+        assertEquals("survival", store.getServer(SECOND));
+        assertEquals(2, snapshotSequence());
+    }
+
+    @Test
+    void movesCorruptSnapshotAside() throws IOException {
+        String corrupt = "{\"seq\":4,\"server\":{\"" + FIRST + "\":";
+        Files.writeString(snapshotFile, corrupt);
+        Files.writeString(journalFile, entry(5, "server", SECOND, "survival"));
+
+        PreviousStateStore store = load();
+
+        assertNull(store.getServer(FIRST));
+        assertEquals("survival", store.getServer(SECOND));
+        Path movedAside = directory.resolve("persisted_states.json.corrupt");
+        assertEquals(corrupt, Files.readString(movedAside, StandardCharsets.UTF_8));
+        // The restored states are compacted into a fresh snapshot
+        assertEquals(5, snapshotSequence());
+        assertEquals(0, Files.size(journalFile));
+    }
+
+    @Test
+    void keepsEarlierCorruptSnapshots() throws IOException {
+        Path earlier = directory.resolve("persisted_states.json.corrupt");
+        Files.writeString(earlier, "earlier");
+        Files.writeString(snapshotFile, "not json");
+
+        load();
+
+        assertEquals("earlier", Files.readString(earlier));
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.anyMatch(file -> file.getFileName().toString().startsWith("persisted_states.json.corrupt-")));
+        }
+        assertEquals(0, snapshotSequence());
+    }
+}
@@ -0,0 +1,124 @@
+package net.fameless.core.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RollingStatisticsTest {
+
+    // Relative to the largest value added, since removing a value cancels its contribution only up to rounding
+    private static final double TOLERANCE = 1e-12;
+
+    private static void assertMatches(Deque<Long> window, RollingStatistics statistics, long largestValue) {
+        assertEquals(window.size(), statistics.size());
+        assertArrayEquals(window.stream().mapToLong(Long::longValue).toArray(), statistics.toArray());
+        if (window.isEmpty()) {
+            assertEquals(0, statistics.mean());
+            assertEquals(0, statistics.stdDev());
+            return;
+        }
+
+        double mean = 0;
+        for (long value : window) {
+            mean += value;
+        }
+        mean /= window.size();
+        double squares = 0;
+        for (long value : window) {
+            squares += (value - mean) * (value - mean);
+        }
+        double variance = squares / window.size();
+        double scale = Math.max(1, largestValue);
+
+        assertEquals(mean, statistics.mean(), TOLERANCE * scale);
+        assertEquals(variance, statistics.stdDev() * statistics.stdDev(), TOLERANCE * scale * scale);
+        assertEquals(window.peekFirst(), statistics.oldest());
+    }
+
+    @ParameterizedTest(name = "capacity {0}")
+    @ValueSource(ints = {1, 2, 7, 64})
+    void matchesNaiveRecomputation(int capacity) {
+        Random random = new Random(capacity);
+        RollingStatistics statistics = new RollingStatistics(capacity);
+        Deque<Long> window = new ArrayDeque<>();
+        long largestValue = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            if (!window.isEmpty() && random.nextInt(4) == 0) {
+                assertEquals(window.removeFirst(), statistics.removeOldest());
+            } else {
+                // Click intervals in milliseconds, with occasional outliers
+                long value = random.nextInt(10) == 0 ? random.nextLong(1_000_000) : 50 + random.nextLong(100);
+                largestValue = Math.max(largestValue, value);
+                if (window.size() == capacity) window.removeFirst();
+                window.addLast(value);
+                statistics.add(value);
+            }
+            assertMatches(window, statistics, largestValue);
+            assertEquals(window.size() == capacity, statistics.isFull());
+        }
+    }
+
+    @Test
+    void removeOldestDownToEmpty() {
+        Random random = new Random(42);
+        RollingStatistics statistics = new RollingStatistics(16);
+        Deque<Long> window = new ArrayDeque<>();
+        long largestValue = 0;
+
+        for (int round = 0; round < 3; round++) {
+            // Wraps the ring buffer before draining it
+            for (int i = 0; i < 40; i++) {
+                long value = random.nextLong(1_000);
+                largestValue = Math.max(largestValue, value);
+                if (window.size() == statistics.capacity()) window.removeFirst();
+                window.addLast(value);
+                statistics.add(value);
+            }
+            while (!window.isEmpty()) {
+                assertEquals(window.removeFirst(), statistics.removeOldest());
+                assertMatches(window, statistics, largestValue);
+            }
+            assertEquals(0, statistics.stdDev());
+        }
+        assertThrows(IllegalStateException.class, statistics::removeOldest);
+    }
+
+    @Test
+    void doesNotDriftOverLongStreams() {
+        Random random = new Random(1);
+        RollingStatistics statistics = new RollingStatistics(19);
+        for (int i = 0; i < 2_000_000; i++) {
+            statistics.add(random.nextInt(10) == 0 ? random.nextLong(1_000_000) : 50 + random.nextLong(100));
+        }
+
+        // A steady clicker after a long session; rounding left behind by evicted outliers must not skew it
+        for (int i = 0; i < statistics.capacity(); i++) {
+            statistics.add(100 + i % 2);
+        }
+        // Ten clicks at 100 ms and nine at 101 ms
+        assertEquals(100 + 9.0 / 19, statistics.mean(), 1e-6);
+        assertEquals(Math.sqrt(90.0 / 361), statistics.stdDev(), 1e-4);
+    }
+
+    @Test
+    void constantValuesHaveNoDeviation() {
+        RollingStatistics statistics = new RollingStatistics(8);
+        for (int i = 0; i < 100; i++) {
+            statistics.add(125);
+        }
+        assertEquals(125, statistics.mean());
+        assertEquals(0, statistics.stdDev());
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RollingStatistics(0));
+    }
+}
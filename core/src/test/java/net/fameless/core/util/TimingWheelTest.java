@@ -0,0 +1,129 @@
+package net.fameless.core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    private static final long TICK_MILLIS = 500;
+
+    private static <E> int ticksUntilDue(TimingWheel<E> wheel, E element, int maxTicks) {
+        for (int tick = 1; tick <= maxTicks; tick++) {
+            if (wheel.advance().contains(element)) return tick;
+        }
+        return -1;
+    }
+
+    @Test
+    void roundsDelayUpToWholeTicks() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, TICK_MILLIS);
+        wheel.schedule("exact", 1_000);
+        assertEquals(2, ticksUntilDue(wheel, "exact", 20));
+
+        wheel.schedule("rounded", 1_001);
+        assertEquals(3, ticksUntilDue(wheel, "rounded", 20));
+
+        wheel.schedule("immediate", 0);
+        assertEquals(1, ticksUntilDue(wheel, "immediate", 20));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void keepsDeadlinesBeyondOneRevolution() {
+        TimingWheel<String> wheel = new TimingWheel<>(4, TICK_MILLIS);
+        wheel.schedule("near", 2 * TICK_MILLIS);
+        wheel.schedule("far", 10 * TICK_MILLIS);
+
+        assertEquals(List.of(), wheel.advance());
+        assertEquals(List.of("near"), wheel.advance());
+        // "far" shares the slot of tick 2 and 6, but is not due before tick 10
+        for (int tick = 3; tick < 10; tick++) {
+            assertEquals(List.of(), wheel.advance(), "tick " + tick);
+        }
+        assertEquals(List.of("far"), wheel.advance());
+        assertFalse(wheel.isScheduled("far"));
+    }
+
+    @Test
+    void reschedulingReplacesDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, TICK_MILLIS);
+        wheel.schedule("player", 5 * TICK_MILLIS);
+        wheel.schedule("player", 2 * TICK_MILLIS);
+        assertEquals(1, wheel.size());
+        assertEquals(2, ticksUntilDue(wheel, "player", 20));
+        assertEquals(-1, ticksUntilDue(wheel, "player", 20));
+
+        wheel.schedule("player", TICK_MILLIS);
+        wheel.schedule("player", 3 * TICK_MILLIS);
+        assertEquals(3, ticksUntilDue(wheel, "player", 20));
+    }
+
+    @Test
+    void cancelRemovesElement() {
+        TimingWheel<String> wheel = new TimingWheel<>(8, TICK_MILLIS);
+        wheel.schedule("player", TICK_MILLIS);
+        assertTrue(wheel.isScheduled("player"));
+        assertTrue(wheel.cancel("player"));
+        assertFalse(wheel.cancel("player"));
+        assertFalse(wheel.isScheduled("player"));
+        assertEquals(-1, ticksUntilDue(wheel, "player", 20));
+    }
+
+    @Test
+    void clearRemovesAllElements() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(8, TICK_MILLIS);
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(i, i * TICK_MILLIS);
+        }
+        wheel.clear();
+        assertEquals(0, wheel.size());
+        for (int tick = 0; tick < 200; tick++) {
+            assertEquals(List.of(), wheel.advance());
+        }
+    }
+
+    @Test
+    void matchesReferenceModel() {
+        Random random = new Random(7);
+        TimingWheel<Integer> wheel = new TimingWheel<>(16, TICK_MILLIS);
+        Map<Integer, Long> expected = new HashMap<>();
+        long tick = 0;
+
+        for (int step = 0; step < 5_000; step++) {
+            int element = random.nextInt(200);
+            switch (random.nextInt(3)) {
+                case 0, 1 -> {
+                    long delayMillis = random.nextLong(40 * TICK_MILLIS);
+                    wheel.schedule(element, delayMillis);
+                    expected.put(element, tick + Math.max(1, Math.ceilDiv(delayMillis, TICK_MILLIS)));
+                }
+                default -> assertEquals(expected.remove(element) != null, wheel.cancel(element));
+            }
+
+            tick++;
+            Set<Integer> due = new HashSet<>(wheel.advance());
+            List<Integer> expectedDue = new ArrayList<>();
+            for (Map.Entry<Integer, Long> entry : expected.entrySet()) {
+                if (entry.getValue() <= tick) expectedDue.add(entry.getKey());
+            }
+            expectedDue.forEach(expected::remove);
+            assertEquals(new HashSet<>(expectedDue), due, "tick " + tick);
+            assertEquals(expected.size(), wheel.size());
+        }
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(0, TICK_MILLIS));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(8, 0));
+    }
+}
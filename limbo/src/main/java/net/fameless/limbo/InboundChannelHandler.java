@@ -1,15 +1,14 @@
 package net.fameless.limbo;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import com.loohp.limbo.Limbo;
 import com.loohp.limbo.location.Location;
 import com.loohp.limbo.player.Player;
 import com.loohp.limbo.utils.GameMode;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import net.fameless.network.MessageType;
-import net.fameless.network.NetworkMessage;
+import net.fameless.network.NetworkUtil;
+import net.fameless.network.packet.AbstractPacket;
+import net.fameless.network.packet.outbound.ConfigurationUpdatePacket;
 import net.fameless.network.packet.outbound.OpenEmptyInventoryPacket;
 import net.fameless.network.packet.outbound.SetGameModePacket;
 import net.fameless.network.packet.outbound.TeleportPlayerPacket;
@@ -18,12 +17,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Locale;
 
-public class InboundChannelHandler extends SimpleChannelInboundHandler<String> {
-
-    private final Gson gson = new GsonBuilder()
-            .setPrettyPrinting()
-            .disableHtmlEscaping()
-            .create();
+public class InboundChannelHandler extends SimpleChannelInboundHandler<AbstractPacket> {
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, @NotNull Throwable cause) {
@@ -35,32 +29,30 @@ public class InboundChannelHandler extends SimpleChannelInboundHandler<String> {
     }
 
     @Override
-    protected void channelRead0(ChannelHandlerContext channelHandlerContext, String msg) throws Exception {
-        NetworkMessage message = gson.fromJson(msg, NetworkMessage.class);
-        MessageType type = MessageType.valueOf(message.type);
-
-        switch (type) {
-            case OPEN_EMPTY_INVENTORY -> {
-                OpenEmptyInventoryPacket packet = gson.fromJson(message.payload, OpenEmptyInventoryPacket.class);
+    protected void channelRead0(ChannelHandlerContext channelHandlerContext, AbstractPacket msg) throws Exception {
+        switch (msg) {
+            case OpenEmptyInventoryPacket packet -> {
                 Player target = Limbo.getInstance().getPlayer(packet.uuid);
                 if (target == null) return;
                 Limbo.getInstance().getScheduler().runTask(LimboTracking.getInstance(),
                         () -> target.openInventory(Limbo.getInstance().createInventory(Component.empty(), 27, null)));
             }
-            case TELEPORT_PLAYER -> {
-                TeleportPlayerPacket packet = gson.fromJson(message.payload, TeleportPlayerPacket.class);
+            case TeleportPlayerPacket packet -> {
                 Location location = new Location(Limbo.getInstance().getWorld(packet.world), packet.x, packet.y, packet.z, packet.pitch, packet.yaw);
                 Player target = Limbo.getInstance().getPlayer(packet.uuid);
                 if (target == null) return;
                 Limbo.getInstance().getScheduler().runTask(LimboTracking.getInstance(), () -> target.teleport(location));
             }
-            case SET_GAMEMODE -> {
-                SetGameModePacket packet = gson.fromJson(message.payload, SetGameModePacket.class);
+            case SetGameModePacket packet -> {
                 GameMode gameMode = GameMode.valueOf(packet.gameMode.toUpperCase(Locale.US));
                 Player target = Limbo.getInstance().getPlayer(packet.uuid);
                 if (target == null) return;
                 Limbo.getInstance().getScheduler().runTask(LimboTracking.getInstance(), () -> target.setGamemode(gameMode));
             }
+            case ConfigurationUpdatePacket packet ->
+                    NetworkUtil.negotiateProtocolVersion(channelHandlerContext.channel(), packet.protocolVersion);
+            default -> {
+            }
         }
     }
 }
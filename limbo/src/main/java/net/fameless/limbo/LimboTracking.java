@@ -10,23 +10,22 @@ import com.loohp.limbo.plugins.LimboPlugin;
 import com.loohp.limbo.utils.GameMode;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioIoHandler;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
-import io.netty.handler.codec.string.StringDecoder;
-import io.netty.handler.codec.string.StringEncoder;
-import net.fameless.network.MessageType;
+import net.fameless.network.HeartbeatHandler;
+import net.fameless.network.NettyTransport;
 import net.fameless.network.NetworkUtil;
+import net.fameless.network.PacketCodec;
+import net.fameless.network.ReconnectBackoff;
 import net.fameless.network.ServerSoftware;
 import net.fameless.network.packet.inbound.*;
 import org.jetbrains.annotations.NotNull;
 
-import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class LimboTracking extends LimboPlugin implements Listener {
 
@@ -36,8 +35,11 @@ public class LimboTracking extends LimboPlugin implements Listener {
         return instance;
     }
 
-    private final EventLoopGroup group = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+    private final NettyTransport transport = NettyTransport.select();
+    private final EventLoopGroup group = transport.newEventLoopGroup(1);
     private final Object connectionAttemptLock = new Object();
+    private final ReconnectBackoff reconnectBackoff = new ReconnectBackoff();
+    private final HeartbeatHandler heartbeatHandler = new HeartbeatHandler();
     private final Set<UUID> initializedPlayers = new HashSet<>();
 
     private volatile Channel channel;
@@ -57,17 +59,16 @@ public class LimboTracking extends LimboPlugin implements Listener {
         this.debugLogging = config.getBoolean("debug-logging", false);
         Logger.info("Starting with debug-logging {}.", debugLogging ? "enabled" : "disabled");
 
-        bootstrap = new Bootstrap()
-                .group(group)
-                .channel(NioSocketChannel.class)
+        bootstrap = transport.configure(new Bootstrap().group(group))
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel ch) {
                         ch.pipeline().addLast(
                                 new LengthFieldBasedFrameDecoder(65536, 0, 4, 0, 4),
                                 new LengthFieldPrepender(4),
-                                new StringDecoder(StandardCharsets.UTF_8),
-                                new StringEncoder(StandardCharsets.UTF_8),
+                                new PacketCodec(),
+                                HeartbeatHandler.newIdleStateHandler(),
+                                heartbeatHandler,
                                 new InboundChannelHandler()
                         );
                     }
@@ -75,7 +76,7 @@ public class LimboTracking extends LimboPlugin implements Listener {
 
         String host = config.getString("netty-host", "localhost");
         int port = config.getInt("netty-port", 9000);
-        Logger.info("Attempting to establish connection to proxy plugin instance on: {}:{}", host, port);
+        Logger.info("Attempting to establish connection to proxy plugin instance on: {}:{} (Transport={})", host, port, transport.friendlyName);
         establishConnection(host, port);
 
         new GameModeTracker(this::sendGameModeChanged);
@@ -96,18 +97,19 @@ public class LimboTracking extends LimboPlugin implements Listener {
                             try {
                                 if (future.isSuccess()) {
                                     this.channel = future.channel();
+                                    reconnectBackoff.reset();
                                     sendHandshake();
 
                                     this.channel.closeFuture().addListener(cf -> {
                                         synchronized (connectionAttemptLock) {
                                             this.channel = null;
-                                            Limbo.getInstance().getScheduler().runTaskLater(this, () -> establishConnection(host, port), 20);
+                                            scheduleReconnect(host, port);
                                         }
                                     });
 
                                     Logger.info("Connection to proxy plugin instance established successfully");
                                 } else {
-                                    Limbo.getInstance().getScheduler().runTaskLater(this, () -> establishConnection(host, port), 20);
+                                    scheduleReconnect(host, port);
                                 }
                             } finally {
                                 connecting = false;
@@ -117,6 +119,13 @@ public class LimboTracking extends LimboPlugin implements Listener {
         }
     }
 
+    private void scheduleReconnect(String host, int port) {
+        if (group.isShuttingDown()) return;
+        long delay = reconnectBackoff.nextDelayMillis();
+        if (debugLogging) Logger.info("Attempting to reconnect to proxy plugin instance in {}ms", delay);
+        group.schedule(() -> establishConnection(host, port), delay, TimeUnit.MILLISECONDS);
+    }
+
     private void sendHandshake() {
         if (channel == null) {
             Logger.info("Cannot send 'handshake' packet as channel is null");
@@ -124,8 +133,8 @@ public class LimboTracking extends LimboPlugin implements Listener {
         }
 
         if (debugLogging) Logger.info("Sending a handshake packet to the proxy plugin");
-        HandshakePacket packet = new HandshakePacket(ServerSoftware.LIMBO, getServer().getServerConnection().getServerSocket().getLocalPort());
-        channel.writeAndFlush(NetworkUtil.msg(MessageType.HANDSHAKE, packet));
+        new HandshakePacket(ServerSoftware.LIMBO, getServer().getServerConnection().getServerSocket().getLocalPort(),
+                NetworkUtil.PROTOCOL_VERSION).send(channel);
     }
 
     private void sendActionCaught(@NotNull Player player) {
@@ -4,8 +4,23 @@ dependencies {
     api("io.netty:netty-buffer:4.2.8.Final")
     api("io.netty:netty-transport:4.2.8.Final")
     api("io.netty:netty-codec:4.2.8.Final")
+    api("io.netty:netty-handler:4.2.8.Final")
+    api("io.netty:netty-transport-classes-epoll:4.2.8.Final")
+    api("io.netty:netty-transport-classes-io_uring:4.2.8.Final")
+    runtimeOnly("io.netty:netty-transport-native-epoll:4.2.8.Final:linux-x86_64")
+    runtimeOnly("io.netty:netty-transport-native-epoll:4.2.8.Final:linux-aarch_64")
+    runtimeOnly("io.netty:netty-transport-native-io_uring:4.2.8.Final:linux-x86_64")
+    runtimeOnly("io.netty:netty-transport-native-io_uring:4.2.8.Final:linux-aarch_64")
     compileOnly(libs.annotations)
     implementation(libs.gson)
+
+    testImplementation(platform(libs.junitBom))
+    testImplementation(libs.junitJupiter)
+    testRuntimeOnly(libs.junitPlatformLauncher)
+}
+
+tasks.test {
+    useJUnitPlatform()
 }
 
 
@@ -0,0 +1,47 @@
+package net.fameless.network;
+
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import net.fameless.network.packet.HeartbeatPacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a channel alive and closes it once the remote end stopped responding.
+ *
+ * <p>Must be added after the {@link IdleStateHandler} returned by {@link #newIdleStateHandler()}. A heartbeat is
+ * sent whenever nothing has been written for {@link #HEARTBEAT_INTERVAL_SECONDS}, and the channel is closed if nothing
+ * has been read for {@link #HEARTBEAT_TIMEOUT_SECONDS}. Both only apply once both ends negotiated
+ * {@link NetworkUtil#HEARTBEAT_PROTOCOL_VERSION}, since older versions never send heartbeats. Closing the channel
+ * lets the tracking plugins reconnect, see {@link ReconnectBackoff}.</p>
+ */
+@ChannelHandler.Sharable
+public class HeartbeatHandler extends ChannelInboundHandlerAdapter {
+
+    public static final int HEARTBEAT_INTERVAL_SECONDS = 5;
+    public static final int HEARTBEAT_TIMEOUT_SECONDS = 15;
+
+    public static @NotNull IdleStateHandler newIdleStateHandler() {
+        return new IdleStateHandler(HEARTBEAT_TIMEOUT_SECONDS, HEARTBEAT_INTERVAL_SECONDS, 0, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public void userEventTriggered(@NotNull ChannelHandlerContext ctx, @NotNull Object evt) throws Exception {
+        if (!(evt instanceof IdleStateEvent event)) {
+            super.userEventTriggered(ctx, evt);
+            return;
+        }
+        if (NetworkUtil.getProtocolVersion(ctx.channel()) < NetworkUtil.HEARTBEAT_PROTOCOL_VERSION) return;
+
+        switch (event.state()) {
+            case WRITER_IDLE -> new HeartbeatPacket().send(ctx.channel());
+            case READER_IDLE -> ctx.close();
+            default -> {
+            }
+        }
+    }
+}
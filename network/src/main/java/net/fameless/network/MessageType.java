@@ -1,18 +1,42 @@
 package net.fameless.network;
 
+import net.fameless.network.packet.AbstractPacket;
+import net.fameless.network.packet.HeartbeatPacket;
+import net.fameless.network.packet.inbound.*;
+import net.fameless.network.packet.outbound.*;
+
 public enum MessageType {
 
-    HANDSHAKE,
-    ACTION_CAUGHT,
-    LOCATION_CHANGED,
-    GAMEMODE_CHANGED,
-    CLICK_DETECTED,
-
-    OPEN_EMPTY_INVENTORY,
-    TELEPORT_PLAYER,
-    SET_GAMEMODE,
-    AFK_DETECTED,
-    PLAYER_RETURN,
-    CONFIGURATION_UPDATE
+    HANDSHAKE(HandshakePacket.class),
+    ACTION_CAUGHT(ActionCaughtPacket.class),
+    LOCATION_CHANGED(LocationChangedPacket.class, true),
+    GAMEMODE_CHANGED(GameModeChangedPacket.class),
+    CLICK_DETECTED(ClickDetectedPacket.class),
+
+    OPEN_EMPTY_INVENTORY(OpenEmptyInventoryPacket.class),
+    TELEPORT_PLAYER(TeleportPlayerPacket.class),
+    SET_GAMEMODE(SetGameModePacket.class),
+    AFK_DETECTED(PlayerAfkPacket.class),
+    PLAYER_RETURN(PlayerReturnPacket.class),
+    CONFIGURATION_UPDATE(ConfigurationUpdatePacket.class),
+
+    // Sent in both directions. Appended last, as the ordinal is part of the binary encoding
+    HEARTBEAT(HeartbeatPacket.class, true);
+
+    public final Class<? extends AbstractPacket> packetClass;
+
+    /**
+     * Whether the packet may be dropped when the channel is not writable, because a later packet supersedes it.
+     */
+    public final boolean droppable;
+
+    MessageType(Class<? extends AbstractPacket> packetClass) {
+        this(packetClass, false);
+    }
+
+    MessageType(Class<? extends AbstractPacket> packetClass, boolean droppable) {
+        this.packetClass = packetClass;
+        this.droppable = droppable;
+    }
 
 }
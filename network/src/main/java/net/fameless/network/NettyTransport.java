@@ -0,0 +1,90 @@
+package net.fameless.network;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.IoHandlerFactory;
+import io.netty.channel.MultiThreadIoEventLoopGroup;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollIoHandler;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioIoHandler;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.uring.IoUring;
+import io.netty.channel.uring.IoUringIoHandler;
+import io.netty.channel.uring.IoUringServerSocketChannel;
+import io.netty.channel.uring.IoUringSocketChannel;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Transport used for the channels between the proxy and the tracking plugins.
+ *
+ * <p>{@link #select()} prefers io_uring, then epoll, and falls back to NIO if no native library could be loaded,
+ * e.g. on other operating systems or when the native library has been stripped from a relocated jar.</p>
+ */
+public enum NettyTransport {
+
+    IO_URING("io_uring", IoUringIoHandler::newFactory, IoUringServerSocketChannel.class, IoUringSocketChannel.class),
+    EPOLL("epoll", EpollIoHandler::newFactory, EpollServerSocketChannel.class, EpollSocketChannel.class),
+    NIO("NIO", NioIoHandler::newFactory, NioServerSocketChannel.class, NioSocketChannel.class);
+
+    public final String friendlyName;
+    private final Supplier<IoHandlerFactory> ioHandlerFactory;
+    private final Class<? extends ServerChannel> serverChannelClass;
+    private final Class<? extends SocketChannel> socketChannelClass;
+
+    NettyTransport(String friendlyName, Supplier<IoHandlerFactory> ioHandlerFactory,
+                   Class<? extends ServerChannel> serverChannelClass, Class<? extends SocketChannel> socketChannelClass) {
+        this.friendlyName = friendlyName;
+        this.ioHandlerFactory = ioHandlerFactory;
+        this.serverChannelClass = serverChannelClass;
+        this.socketChannelClass = socketChannelClass;
+    }
+
+    public static @NotNull NettyTransport select() {
+        if (isAvailable(IoUring::isAvailable)) return IO_URING;
+        if (isAvailable(Epoll::isAvailable)) return EPOLL;
+        return NIO;
+    }
+
+    private static boolean isAvailable(@NotNull BooleanSupplier check) {
+        try {
+            return check.getAsBoolean();
+        } catch (Throwable t) {
+            // Thrown if the native classes are missing entirely
+            return false;
+        }
+    }
+
+    public @NotNull EventLoopGroup newEventLoopGroup(int threads) {
+        return new MultiThreadIoEventLoopGroup(threads, ioHandlerFactory.get());
+    }
+
+    /**
+     * Applies the channel class and the socket options shared by all connections to a server bootstrap.
+     */
+    public @NotNull ServerBootstrap configure(@NotNull ServerBootstrap bootstrap) {
+        return bootstrap.channel(serverChannelClass)
+                .childOption(ChannelOption.TCP_NODELAY, true)
+                .childOption(ChannelOption.SO_KEEPALIVE, true)
+                .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, NetworkUtil.WRITE_BUFFER_WATER_MARK);
+    }
+
+    /**
+     * Applies the channel class and the socket options shared by all connections to a client bootstrap.
+     */
+    public @NotNull Bootstrap configure(@NotNull Bootstrap bootstrap) {
+        return bootstrap.channel(socketChannelClass)
+                .option(ChannelOption.TCP_NODELAY, true)
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .option(ChannelOption.WRITE_BUFFER_WATER_MARK, NetworkUtil.WRITE_BUFFER_WATER_MARK);
+    }
+}
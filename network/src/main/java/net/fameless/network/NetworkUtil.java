@@ -2,13 +2,65 @@ package net.fameless.network;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import io.netty.channel.Channel;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.util.AttributeKey;
+import org.jetbrains.annotations.NotNull;
 
 public class NetworkUtil {
 
-    private static final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+    /**
+     * Protocol version of tracking plugins that only understand double-encoded JSON messages.
+     */
+    public static final int JSON_PROTOCOL_VERSION = 0;
+
+    /**
+     * Protocol version that adds the compact binary encoding, see {@link PacketCodec}.
+     */
+    public static final int BINARY_PROTOCOL_VERSION = 1;
+
+    /**
+     * Protocol version that adds heartbeats, see {@link HeartbeatHandler}.
+     */
+    public static final int HEARTBEAT_PROTOCOL_VERSION = 2;
+
+    public static final int PROTOCOL_VERSION = HEARTBEAT_PROTOCOL_VERSION;
+
+    /**
+     * Once more than the high water mark is waiting in the outbound buffer of a channel, it is no longer writable
+     * and droppable packets are discarded until the buffer has been drained below the low water mark.
+     */
+    public static final WriteBufferWaterMark WRITE_BUFFER_WATER_MARK = new WriteBufferWaterMark(32 * 1024, 128 * 1024);
+
+    /**
+     * Protocol version negotiated with the remote end of a channel. Absent until the handshake completed.
+     */
+    public static final AttributeKey<Integer> PROTOCOL_VERSION_KEY = AttributeKey.valueOf("bungeeafk:protocol-version");
+
+    private static final Gson gson = new GsonBuilder().disableHtmlEscaping().create();
 
     public static String msg(MessageType type, Object payload) {
         return gson.toJson(new NetworkMessage(type.name(), gson.toJson(payload)));
     }
 
+    public static <T> T fromJson(String json, Class<T> type) {
+        return gson.fromJson(json, type);
+    }
+
+    public static int getProtocolVersion(@NotNull Channel channel) {
+        Integer version = channel.attr(PROTOCOL_VERSION_KEY).get();
+        return version != null ? version : JSON_PROTOCOL_VERSION;
+    }
+
+    /**
+     * Stores the protocol version both ends support, given the version announced by the remote end.
+     *
+     * @return the negotiated protocol version
+     */
+    public static int negotiateProtocolVersion(@NotNull Channel channel, int remoteProtocolVersion) {
+        int version = Math.max(JSON_PROTOCOL_VERSION, Math.min(PROTOCOL_VERSION, remoteProtocolVersion));
+        channel.attr(PROTOCOL_VERSION_KEY).set(version);
+        return version;
+    }
+
 }
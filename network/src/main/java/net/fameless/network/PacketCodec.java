@@ -0,0 +1,176 @@
+package net.fameless.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.MessageToMessageCodec;
+import net.fameless.network.packet.AbstractPacket;
+import net.fameless.network.packet.HeartbeatPacket;
+import net.fameless.network.packet.inbound.*;
+import net.fameless.network.packet.outbound.*;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Converts between length-delimited frames and packets.
+ *
+ * <p>A frame is either a JSON {@link NetworkMessage} as sent by older tracking plugins, or a binary packet. Binary
+ * packets start with a single type byte ({@code 0x80 | ordinal}), which can never be the first byte of a JSON
+ * document, so inbound frames are decoded in either format at any time. UUIDs are written as two longs, coordinates
+ * as primitives and strings as a length-prefixed UTF-8 sequence.</p>
+ *
+ * <p>Outbound packets are only encoded in binary once the remote end announced support for it, see
+ * {@link NetworkUtil#negotiateProtocolVersion}. Until then, JSON is used.</p>
+ */
+public class PacketCodec extends MessageToMessageCodec<ByteBuf, AbstractPacket> {
+
+    private static final int BINARY_MARKER = 0x80;
+    private static final MessageType[] TYPES = MessageType.values();
+    private static final ServerSoftware[] SERVER_SOFTWARES = ServerSoftware.values();
+
+    @Override
+    protected void encode(@NotNull ChannelHandlerContext ctx, AbstractPacket packet, @NotNull List<Object> out) {
+        out.add(encode(ctx.alloc(), packet, NetworkUtil.getProtocolVersion(ctx.channel())));
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, @NotNull ByteBuf in, @NotNull List<Object> out) {
+        if (!in.isReadable()) return;
+        if ((in.getByte(in.readerIndex()) & BINARY_MARKER) != 0) {
+            out.add(decodeBinary(in));
+        } else {
+            NetworkMessage message = NetworkUtil.fromJson(in.toString(StandardCharsets.UTF_8), NetworkMessage.class);
+            MessageType type = MessageType.valueOf(message.type);
+            out.add(NetworkUtil.fromJson(message.payload, type.packetClass));
+        }
+    }
+
+    /**
+     * Encodes the packet into a new buffer in the format understood by the given protocol version.
+     *
+     * @param alloc           allocator for the buffer
+     * @param packet          the packet to encode
+     * @param protocolVersion protocol version of the receiving end
+     *
+     * @return the encoded packet, without the length prefix
+     */
+    public static @NotNull ByteBuf encode(@NotNull ByteBufAllocator alloc, @NotNull AbstractPacket packet, int protocolVersion) {
+        if (protocolVersion >= NetworkUtil.BINARY_PROTOCOL_VERSION) {
+            return encodeBinary(alloc, packet);
+        }
+        return ByteBufUtil.writeUtf8(alloc, NetworkUtil.msg(packet.type, packet));
+    }
+
+    private static @NotNull ByteBuf encodeBinary(@NotNull ByteBufAllocator alloc, @NotNull AbstractPacket packet) {
+        ByteBuf buf = alloc.buffer();
+        try {
+            buf.writeByte(BINARY_MARKER | packet.type.ordinal());
+            switch (packet) {
+                case HandshakePacket p -> {
+                    buf.writeByte(p.serverSoftware.ordinal());
+                    buf.writeInt(p.minecraftServerPort);
+                    buf.writeInt(p.protocolVersion);
+                }
+                case ActionCaughtPacket p -> writeUuid(buf, p.uuid);
+                case LocationChangedPacket p -> {
+                    writeUuid(buf, p.uuid);
+                    writeString(buf, p.world);
+                    buf.writeDouble(p.x);
+                    buf.writeDouble(p.y);
+                    buf.writeDouble(p.z);
+                    buf.writeFloat(p.pitch);
+                    buf.writeFloat(p.yaw);
+                }
+                case GameModeChangedPacket p -> {
+                    writeUuid(buf, p.uuid);
+                    writeString(buf, p.gameMode);
+                }
+                case ClickDetectedPacket p -> writeUuid(buf, p.uuid);
+                case OpenEmptyInventoryPacket p -> writeUuid(buf, p.uuid);
+                case TeleportPlayerPacket p -> {
+                    writeUuid(buf, p.uuid);
+                    writeString(buf, p.world);
+                    buf.writeDouble(p.x);
+                    buf.writeDouble(p.y);
+                    buf.writeDouble(p.z);
+                    buf.writeFloat(p.pitch);
+                    buf.writeFloat(p.yaw);
+                }
+                case SetGameModePacket p -> {
+                    writeUuid(buf, p.uuid);
+                    writeString(buf, p.gameMode);
+                }
+                case PlayerAfkPacket p -> writeUuid(buf, p.uuid);
+                case PlayerReturnPacket p -> writeUuid(buf, p.uuid);
+                case ConfigurationUpdatePacket p -> {
+                    buf.writeBoolean(p.reduceSimulationDistance);
+                    buf.writeInt(p.protocolVersion);
+                }
+                case HeartbeatPacket ignored -> {
+                }
+                default -> throw new IllegalArgumentException("No binary encoding for packet " + packet.getClass().getName());
+            }
+            return buf;
+        } catch (RuntimeException e) {
+            buf.release();
+            throw e;
+        }
+    }
+
+    private static @NotNull AbstractPacket decodeBinary(@NotNull ByteBuf in) {
+        int ordinal = in.readUnsignedByte() & ~BINARY_MARKER;
+        if (ordinal >= TYPES.length) {
+            throw new CorruptedFrameException("Unknown packet type: " + ordinal);
+        }
+
+        return switch (TYPES[ordinal]) {
+            case HANDSHAKE -> new HandshakePacket(readServerSoftware(in), in.readInt(), in.readInt());
+            case ACTION_CAUGHT -> new ActionCaughtPacket(readUuid(in));
+            case LOCATION_CHANGED -> new LocationChangedPacket(readUuid(in), readString(in),
+                    in.readDouble(), in.readDouble(), in.readDouble(), in.readFloat(), in.readFloat());
+            case GAMEMODE_CHANGED -> new GameModeChangedPacket(readUuid(in), readString(in));
+            case CLICK_DETECTED -> new ClickDetectedPacket(readUuid(in));
+            case OPEN_EMPTY_INVENTORY -> new OpenEmptyInventoryPacket(readUuid(in));
+            case TELEPORT_PLAYER -> new TeleportPlayerPacket(readUuid(in), readString(in),
+                    in.readDouble(), in.readDouble(), in.readDouble(), in.readFloat(), in.readFloat());
+            case SET_GAMEMODE -> new SetGameModePacket(readUuid(in), readString(in));
+            case AFK_DETECTED -> new PlayerAfkPacket(readUuid(in));
+            case PLAYER_RETURN -> new PlayerReturnPacket(readUuid(in));
+            case CONFIGURATION_UPDATE -> new ConfigurationUpdatePacket(in.readBoolean(), in.readInt());
+            case HEARTBEAT -> new HeartbeatPacket();
+        };
+    }
+
+    private static @NotNull ServerSoftware readServerSoftware(@NotNull ByteBuf buf) {
+        int ordinal = buf.readUnsignedByte();
+        if (ordinal >= SERVER_SOFTWARES.length) {
+            throw new CorruptedFrameException("Unknown server software: " + ordinal);
+        }
+        return SERVER_SOFTWARES[ordinal];
+    }
+
+    private static void writeUuid(@NotNull ByteBuf buf, @NotNull UUID uuid) {
+        buf.writeLong(uuid.getMostSignificantBits());
+        buf.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static @NotNull UUID readUuid(@NotNull ByteBuf buf) {
+        return new UUID(buf.readLong(), buf.readLong());
+    }
+
+    private static void writeString(@NotNull ByteBuf buf, @NotNull String value) {
+        int lengthIndex = buf.writerIndex();
+        buf.writeShort(0);
+        int length = buf.writeCharSequence(value, StandardCharsets.UTF_8);
+        buf.setShort(lengthIndex, length);
+    }
+
+    private static @NotNull String readString(@NotNull ByteBuf buf) {
+        return buf.readCharSequence(buf.readUnsignedShort(), StandardCharsets.UTF_8).toString();
+    }
+}
@@ -0,0 +1,98 @@
+package net.fameless.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.util.AttributeKey;
+import net.fameless.network.packet.AbstractPacket;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes packets to one or more channels without encoding them once per channel.
+ *
+ * <p>A packet is encoded at most once per protocol version into a shared buffer, and every channel receives a
+ * retained duplicate of it. {@link #write} only queues the packet in the channel's outbound buffer. {@link #send}
+ * additionally schedules a flush on the channel's event loop; all packets written before that flush runs go out
+ * together, so a burst of packets costs a single syscall per channel.</p>
+ *
+ * <p>{@link MessageType#droppable Droppable} packets are discarded for channels that are not writable, i.e. whose
+ * outbound buffer exceeds {@link NetworkUtil#WRITE_BUFFER_WATER_MARK}, so a slow remote end cannot make the buffer
+ * grow without limit. Other packets are always written.</p>
+ */
+public final class PacketWriter {
+
+    private static final AttributeKey<AtomicBoolean> FLUSH_SCHEDULED = AttributeKey.valueOf("bungeeafk:flush-scheduled");
+    private static final AttributeKey<AtomicLong> DROPPED_PACKETS = AttributeKey.valueOf("bungeeafk:dropped-packets");
+
+    private PacketWriter() {
+        throw new UnsupportedOperationException("This class cannot be instantiated.");
+    }
+
+    /**
+     * Writes the packet to every active channel and schedules a flush for each of them.
+     */
+    public static void send(@NotNull AbstractPacket packet, @NotNull Collection<Channel> channels) {
+        write(packet, channels);
+        for (Channel channel : channels) {
+            scheduleFlush(channel);
+        }
+    }
+
+    /**
+     * Writes the packet to every active channel without flushing.
+     */
+    public static void write(@NotNull AbstractPacket packet, @NotNull Collection<Channel> channels) {
+        ByteBuf[] encoded = new ByteBuf[NetworkUtil.PROTOCOL_VERSION + 1];
+        try {
+            for (Channel channel : channels) {
+                if (!channel.isActive()) continue;
+                if (packet.type.droppable && !channel.isWritable()) {
+                    counter(channel, DROPPED_PACKETS).incrementAndGet();
+                    continue;
+                }
+
+                int version = Math.min(NetworkUtil.getProtocolVersion(channel), NetworkUtil.PROTOCOL_VERSION);
+                if (encoded[version] == null) {
+                    encoded[version] = PacketCodec.encode(ByteBufAllocator.DEFAULT, packet, version);
+                }
+                channel.write(encoded[version].retainedDuplicate());
+            }
+        } finally {
+            for (ByteBuf buf : encoded) {
+                if (buf != null) buf.release();
+            }
+        }
+    }
+
+    /**
+     * Flushes the channel on its event loop, unless a flush is already pending.
+     */
+    public static void scheduleFlush(@NotNull Channel channel) {
+        AtomicBoolean scheduled = channel.attr(FLUSH_SCHEDULED).setIfAbsent(new AtomicBoolean());
+        if (scheduled == null) scheduled = channel.attr(FLUSH_SCHEDULED).get();
+        if (!scheduled.compareAndSet(false, true)) return;
+
+        AtomicBoolean flag = scheduled;
+        channel.eventLoop().execute(() -> {
+            flag.set(false);
+            channel.flush();
+        });
+    }
+
+    /**
+     * @return the number of droppable packets that have been discarded because the channel was not writable
+     */
+    public static long getDroppedPackets(@NotNull Channel channel) {
+        AtomicLong dropped = channel.attr(DROPPED_PACKETS).get();
+        return dropped != null ? dropped.get() : 0;
+    }
+
+    private static @NotNull AtomicLong counter(@NotNull Channel channel, @NotNull AttributeKey<AtomicLong> key) {
+        AtomicLong counter = channel.attr(key).setIfAbsent(new AtomicLong());
+        return counter != null ? counter : channel.attr(key).get();
+    }
+}
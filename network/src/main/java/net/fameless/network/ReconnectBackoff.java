@@ -0,0 +1,36 @@
+package net.fameless.network;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter for reconnect attempts of the tracking plugins.
+ *
+ * <p>The delay starts at {@link #INITIAL_DELAY_MILLIS}, doubles with every failed attempt up to
+ * {@link #MAX_DELAY_MILLIS} and is randomized by up to {@link #JITTER} in either direction, so backends that lost
+ * their connection at the same time do not all reconnect at once. Not thread-safe.</p>
+ */
+public class ReconnectBackoff {
+
+    public static final long INITIAL_DELAY_MILLIS = 1000;
+    public static final long MAX_DELAY_MILLIS = 60_000;
+    private static final double JITTER = 0.2;
+
+    private long delayMillis = INITIAL_DELAY_MILLIS;
+
+    /**
+     * @return the delay before the next attempt, in milliseconds
+     */
+    public long nextDelayMillis() {
+        long delay = delayMillis;
+        delayMillis = Math.min(MAX_DELAY_MILLIS, delayMillis * 2);
+        double jitter = ThreadLocalRandom.current().nextDouble(-JITTER, JITTER);
+        return Math.max(0, Math.round(delay * (1 + jitter)));
+    }
+
+    /**
+     * Resets the delay after a successful connection.
+     */
+    public void reset() {
+        delayMillis = INITIAL_DELAY_MILLIS;
+    }
+}
@@ -2,9 +2,10 @@ package net.fameless.network.packet;
 
 import io.netty.channel.Channel;
 import net.fameless.network.MessageType;
-import net.fameless.network.NetworkUtil;
+import net.fameless.network.PacketWriter;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Arrays;
 import java.util.Collection;
 
 public abstract class AbstractPacket {
@@ -16,12 +17,18 @@ public abstract class AbstractPacket {
     }
 
     public void send(Channel @NotNull ... channels) {
-        for (Channel ch : channels) {
-            ch.writeAndFlush(NetworkUtil.msg(this.type, this));
-        }
+        PacketWriter.send(this, Arrays.asList(channels));
     }
 
     public void send(@NotNull Collection<Channel> channels) {
-        channels.forEach(ch -> ch.writeAndFlush(NetworkUtil.msg(this.type, this)));
+        PacketWriter.send(this, channels);
+    }
+
+    /**
+     * Queues the packet without flushing. The channels must be flushed by the caller, e.g. through
+     * {@link PacketWriter#scheduleFlush(Channel)}.
+     */
+    public void write(@NotNull Collection<Channel> channels) {
+        PacketWriter.write(this, channels);
     }
 }
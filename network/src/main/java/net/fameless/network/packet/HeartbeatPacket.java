@@ -0,0 +1,11 @@
+package net.fameless.network.packet;
+
+import net.fameless.network.MessageType;
+
+public class HeartbeatPacket extends AbstractPacket {
+
+    public HeartbeatPacket() {
+        super(MessageType.HEARTBEAT);
+    }
+
+}
@@ -8,10 +8,12 @@ public class HandshakePacket extends AbstractPacket {
 
     public ServerSoftware serverSoftware;
     public int minecraftServerPort;
+    public int protocolVersion;
 
-    public HandshakePacket(ServerSoftware serverSoftware, int minecraftServerPort) {
+    public HandshakePacket(ServerSoftware serverSoftware, int minecraftServerPort, int protocolVersion) {
         super(MessageType.HANDSHAKE);
         this.serverSoftware = serverSoftware;
         this.minecraftServerPort = minecraftServerPort;
+        this.protocolVersion = protocolVersion;
     }
 }
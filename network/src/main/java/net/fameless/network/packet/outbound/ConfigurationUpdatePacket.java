@@ -7,10 +7,12 @@ import net.fameless.network.packet.AbstractPacket;
 public class ConfigurationUpdatePacket extends AbstractPacket {
 
     public boolean reduceSimulationDistance;
+    public int protocolVersion;
 
-    public ConfigurationUpdatePacket(boolean reduceSimulationDistance) {
+    public ConfigurationUpdatePacket(boolean reduceSimulationDistance, int protocolVersion) {
         super(MessageType.CONFIGURATION_UPDATE);
         this.reduceSimulationDistance = reduceSimulationDistance;
+        this.protocolVersion = protocolVersion;
     }
 
 }
@@ -0,0 +1,97 @@
+package net.fameless.network;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.CorruptedFrameException;
+import net.fameless.network.packet.AbstractPacket;
+import net.fameless.network.packet.HeartbeatPacket;
+import net.fameless.network.packet.inbound.*;
+import net.fameless.network.packet.outbound.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PacketCodecTest {
+
+    private static final UUID PLAYER = UUID.fromString("5b3c2f3e-7a1d-4c0b-9e8f-1a2b3c4d5e6f");
+
+    private static List<AbstractPacket> packets() {
+        return List.of(
+                new HandshakePacket(ServerSoftware.LIMBO, 25565, NetworkUtil.PROTOCOL_VERSION),
+                new ActionCaughtPacket(PLAYER),
+                new LocationChangedPacket(PLAYER, "world_nether", 12.5, -64, 1_000_000.25, -90f, 179.5f),
+                new GameModeChangedPacket(PLAYER, "SURVIVAL"),
+                new ClickDetectedPacket(PLAYER),
+                new OpenEmptyInventoryPacket(PLAYER),
+                new TeleportPlayerPacket(PLAYER, "wörld", -0.5, 320, 7, 45f, -180f),
+                new SetGameModePacket(PLAYER, "SPECTATOR"),
+                new PlayerAfkPacket(PLAYER),
+                new PlayerReturnPacket(PLAYER),
+                new ConfigurationUpdatePacket(true, NetworkUtil.PROTOCOL_VERSION),
+                new HeartbeatPacket()
+        );
+    }
+
+    static Stream<Arguments> roundTrips() {
+        return Stream.of(NetworkUtil.JSON_PROTOCOL_VERSION, NetworkUtil.BINARY_PROTOCOL_VERSION)
+                .flatMap(version -> packets().stream().map(packet -> Arguments.of(version, packet)));
+    }
+
+    @ParameterizedTest(name = "protocol {0}: {1}")
+    @MethodSource("roundTrips")
+    void roundTrip(int protocolVersion, AbstractPacket packet) {
+        EmbeddedChannel channel = new EmbeddedChannel(new PacketCodec());
+        channel.attr(NetworkUtil.PROTOCOL_VERSION_KEY).set(protocolVersion);
+
+        assertTrue(channel.writeOutbound(packet));
+        ByteBuf frame = channel.readOutbound();
+        boolean binary = (frame.getByte(frame.readerIndex()) & 0x80) != 0;
+        assertEquals(protocolVersion >= NetworkUtil.BINARY_PROTOCOL_VERSION, binary);
+
+        assertTrue(channel.writeInbound(frame));
+        AbstractPacket decoded = channel.readInbound();
+        assertSame(packet.getClass(), decoded.getClass());
+        // Compares every public field of the packet
+        assertEquals(NetworkUtil.msg(packet.type, packet), NetworkUtil.msg(decoded.type, decoded));
+        assertFalse(channel.finish());
+    }
+
+    @Test
+    void everyPacketTypeIsCovered() {
+        Set<MessageType> covered = EnumSet.noneOf(MessageType.class);
+        packets().forEach(packet -> covered.add(packet.type));
+        assertEquals(EnumSet.allOf(MessageType.class), covered);
+    }
+
+    @Test
+    void rejectsUnknownServerSoftware() {
+        EmbeddedChannel channel = new EmbeddedChannel(new PacketCodec());
+        ByteBuf frame = Unpooled.buffer()
+                .writeByte(0x80 | MessageType.HANDSHAKE.ordinal())
+                .writeByte(ServerSoftware.values().length)
+                .writeInt(25565)
+                .writeInt(NetworkUtil.PROTOCOL_VERSION);
+
+        assertThrows(CorruptedFrameException.class, () -> channel.writeInbound(frame));
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void rejectsUnknownPacketType() {
+        EmbeddedChannel channel = new EmbeddedChannel(new PacketCodec());
+        ByteBuf frame = Unpooled.buffer().writeByte(0xFF);
+
+        assertThrows(CorruptedFrameException.class, () -> channel.writeInbound(frame));
+        channel.finishAndReleaseAll();
+    }
+}
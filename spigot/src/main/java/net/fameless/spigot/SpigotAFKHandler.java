@@ -1,7 +1,9 @@
 package net.fameless.spigot;
 
-import net.fameless.core.BungeeAFK;
 import net.fameless.core.handling.AFKHandler;
+import net.fameless.core.network.InboundEvent;
+import net.fameless.core.network.InboundEventQueue;
+import net.fameless.core.player.PlayerLifecycleService;
 import org.bukkit.Bukkit;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
@@ -9,6 +11,7 @@ import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 
 public class SpigotAFKHandler extends AFKHandler implements Listener {
@@ -16,29 +19,38 @@ public class SpigotAFKHandler extends AFKHandler implements Listener {
     @Override
     public void onInit() {
         Bukkit.getPluginManager().registerEvents(this, SpigotPlatform.get());
+        PlayerLifecycleService.getInstance().setPlatformRegistry(SpigotPlayer.registry());
     }
 
     @EventHandler(ignoreCancelled = true)
     public void onPlayerJoin(@NotNull PlayerJoinEvent event) {
-        SpigotPlayer.adapt(event.getPlayer()).setActive();
+        SpigotPlayer player = SpigotPlayer.adapt(event.getPlayer());
+        PlayerLifecycleService.getInstance().handleJoin(player);
+        InboundEventQueue.getInstance().offer(new InboundEvent.ActionCaught(player.getUniqueId()));
+    }
+
+    @EventHandler
+    public void onQuit(@NotNull PlayerQuitEvent event) {
+        SpigotPlayer.adapt(event.getPlayer().getUniqueId()).ifPresent(PlayerLifecycleService.getInstance()::handleDisconnect);
     }
 
     @EventHandler
     public void onMove(@NotNull PlayerMoveEvent event) {
         if (!event.getFrom().equals(event.getTo())) {
-            SpigotPlayer.adapt(event.getPlayer()).setActive();
+            SpigotPlayer player = SpigotPlayer.adapt(event.getPlayer());
+            InboundEventQueue.getInstance().offer(new InboundEvent.ActionCaught(player.getUniqueId()));
         }
     }
 
     @EventHandler
     public void onChat(@NotNull AsyncPlayerChatEvent event) {
-        SpigotPlayer.adapt(event.getPlayer()).setActive();
+        SpigotPlayer player = SpigotPlayer.adapt(event.getPlayer());
+        InboundEventQueue.getInstance().offer(new InboundEvent.ActionCaught(player.getUniqueId()));
     }
 
     @EventHandler
     public void onInteract(@NotNull PlayerInteractEvent event) {
         SpigotPlayer player = SpigotPlayer.adapt(event.getPlayer());
-        player.setActive();
-        BungeeAFK.getAutoClickerDetector().registerClick(player);
+        InboundEventQueue.getInstance().offer(new InboundEvent.ClickDetected(player.getUniqueId()));
     }
 }
@@ -12,7 +12,9 @@ import org.jetbrains.annotations.Unmodifiable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetSocketAddress;
 import java.util.List;
+import java.util.Optional;
 
 public final class SpigotPlatform extends JavaPlugin implements BungeeAFKPlatform {
 
@@ -59,6 +61,11 @@ public final class SpigotPlatform extends JavaPlugin implements BungeeAFKPlatfor
         return List.of();
     }
 
+    @Override
+    public Optional<InetSocketAddress> getServerAddress(String serverName) {
+        return Optional.empty();
+    }
+
     @Override
     public ServerEnvironment getServerEnvironment() {
         return ServerEnvironment.SERVER;
@@ -5,6 +5,7 @@ import net.fameless.api.event.PlayerKickEvent;
 import net.fameless.core.adapter.APIAdapter;
 import net.fameless.core.command.framework.CallerType;
 import net.fameless.core.player.BAFKPlayer;
+import net.fameless.core.player.PlayerRegistry;
 import net.fameless.core.player.GameMode;
 import net.fameless.core.util.Location;
 import net.kyori.adventure.audience.Audience;
@@ -15,50 +16,32 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 public class SpigotPlayer extends BAFKPlayer<Player> {
 
-    private static final List<SpigotPlayer> SPIGOT_PLAYERS = new ArrayList<>();
+    private static final PlayerRegistry<SpigotPlayer> SPIGOT_PLAYERS = new PlayerRegistry<>();
 
-    public SpigotPlayer(@NotNull Player player) {
-        super(player.getUniqueId());
-        this.name = player.getName();
-        SPIGOT_PLAYERS.add(this);
+    private SpigotPlayer(@NotNull Player player) {
+        super(player.getUniqueId(), player.getName());
     }
 
     public static @NotNull SpigotPlayer adapt(Player player) {
-        for (SpigotPlayer spigotPlayer : SPIGOT_PLAYERS) {
-            Optional<Player> platformPlayerOptional = spigotPlayer.getPlatformPlayer();
-            if (platformPlayerOptional.isEmpty()) continue;
-
-            if (spigotPlayer.getPlatformPlayer().get().getUniqueId().equals(player.getUniqueId())) {
-                return spigotPlayer;
-            }
-        }
-        return new SpigotPlayer(player);
+        return SPIGOT_PLAYERS.computeIfAbsent(player.getUniqueId(), uuid -> new SpigotPlayer(player));
     }
 
     public static @NotNull Optional<SpigotPlayer> adapt(UUID uuid) {
-        for (SpigotPlayer spigotPlayer : SPIGOT_PLAYERS) {
-            if (spigotPlayer.getUniqueId().equals(uuid)) {
-                return Optional.of(spigotPlayer);
-            }
-        }
-        return Optional.empty();
+        return SPIGOT_PLAYERS.get(uuid);
     }
 
     public static Optional<SpigotPlayer> adapt(String name) {
-        for (SpigotPlayer spigotPlayer : SPIGOT_PLAYERS) {
-            if (spigotPlayer.getName().equals(name)) {
-                return Optional.of(spigotPlayer);
-            }
-        }
-        return Optional.empty();
+        return SPIGOT_PLAYERS.get(name);
+    }
+
+    static @NotNull PlayerRegistry<SpigotPlayer> registry() {
+        return SPIGOT_PLAYERS;
     }
 
     @Override
@@ -1,11 +1,9 @@
 package net.fameless.tracking;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.SimpleChannelInboundHandler;
-import net.fameless.network.MessageType;
-import net.fameless.network.NetworkMessage;
+import net.fameless.network.NetworkUtil;
+import net.fameless.network.packet.AbstractPacket;
 import net.fameless.network.packet.outbound.*;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
@@ -14,12 +12,7 @@ import org.bukkit.entity.Player;
 
 import java.util.Locale;
 
-public class InboundChannelHandler extends SimpleChannelInboundHandler<String> {
-
-    private final Gson gson = new GsonBuilder()
-            .setPrettyPrinting()
-            .disableHtmlEscaping()
-            .create();
+public class InboundChannelHandler extends SimpleChannelInboundHandler<AbstractPacket> {
 
     @Override
     public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
@@ -32,47 +25,41 @@ public class InboundChannelHandler extends SimpleChannelInboundHandler<String> {
     }
 
     @Override
-    protected void channelRead0(ChannelHandlerContext channelHandlerContext, String msg) throws Exception {
-        NetworkMessage message = gson.fromJson(msg, NetworkMessage.class);
-        MessageType type = MessageType.valueOf(message.type);
-
-        switch (type) {
-            case OPEN_EMPTY_INVENTORY -> {
-                OpenEmptyInventoryPacket packet = gson.fromJson(message.payload, OpenEmptyInventoryPacket.class);
+    protected void channelRead0(ChannelHandlerContext channelHandlerContext, AbstractPacket msg) throws Exception {
+        switch (msg) {
+            case OpenEmptyInventoryPacket packet -> {
                 Player target = Bukkit.getPlayer(packet.uuid);
                 if (target == null) return;
                 Bukkit.getScheduler().runTask(TrackingPlugin.getInstance(), () -> target.openInventory(Bukkit.createInventory(null, 27, "")));
             }
-            case TELEPORT_PLAYER -> {
-                TeleportPlayerPacket packet = gson.fromJson(message.payload, TeleportPlayerPacket.class);
+            case TeleportPlayerPacket packet -> {
                 Location location = new Location(Bukkit.getWorld(packet.world), packet.x, packet.y, packet.z, packet.pitch, packet.yaw);
                 Player target = Bukkit.getPlayer(packet.uuid);
                 if (target == null) return;
                 Bukkit.getScheduler().runTask(TrackingPlugin.getInstance(), () -> target.teleport(location));
             }
-            case SET_GAMEMODE -> {
-                SetGameModePacket packet = gson.fromJson(message.payload, SetGameModePacket.class);
+            case SetGameModePacket packet -> {
                 GameMode gameMode = GameMode.valueOf(packet.gameMode.toUpperCase(Locale.US));
                 Player target = Bukkit.getPlayer(packet.uuid);
                 if (target == null) return;
                 Bukkit.getScheduler().runTask(TrackingPlugin.getInstance(), () -> target.setGameMode(gameMode));
             }
-            case AFK_DETECTED -> {
-                PlayerAfkPacket packet = gson.fromJson(message.payload, PlayerAfkPacket.class);
+            case PlayerAfkPacket packet -> {
                 Player player = Bukkit.getPlayer(packet.uuid);
                 if (player == null) break;
                 TrackingPlugin.getInstance().onPlayerAfk(player);
             }
-            case PLAYER_RETURN -> {
-                PlayerReturnPacket packet = gson.fromJson(message.payload, PlayerReturnPacket.class);
+            case PlayerReturnPacket packet -> {
                 Player player = Bukkit.getPlayer(packet.uuid);
                 if (player == null) break;
                 TrackingPlugin.getInstance().onPlayerReturn(player);
             }
-            case CONFIGURATION_UPDATE -> {
-                ConfigurationUpdatePacket packet = gson.fromJson(message.payload, ConfigurationUpdatePacket.class);
+            case ConfigurationUpdatePacket packet -> {
+                NetworkUtil.negotiateProtocolVersion(channelHandlerContext.channel(), packet.protocolVersion);
                 TrackingPlugin.getInstance().setReduceSimulationDistance(packet.reduceSimulationDistance);
             }
+            default -> {
+            }
         }
     }
 }
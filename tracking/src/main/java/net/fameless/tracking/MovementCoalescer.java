@@ -0,0 +1,121 @@
+package net.fameless.tracking;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces the movement of players into at most one 'action caught' and one 'location changed' packet per
+ * flush interval.
+ *
+ * <p>Only the latest location and whether the player was active are kept. Pending movement is sent right away when
+ * the player crosses a block boundary, since bypass regions and movement pattern detection on the proxy work on
+ * block granularity, and when a player starts moving after a full interval without movement, so returning from
+ * AFK is not delayed. While the channel to the proxy is not writable, nothing is sent and movement keeps being
+ * combined until it is writable again. All methods must be called from the main thread.</p>
+ */
+public class MovementCoalescer {
+
+    private final Map<UUID, PendingMovement> pending = new HashMap<>();
+    private final Consumer<Player> activitySink;
+    private final BiConsumer<Player, Location> locationSink;
+    private final BooleanSupplier writable;
+
+    public MovementCoalescer(@NotNull Consumer<Player> activitySink, @NotNull BiConsumer<Player, Location> locationSink,
+                             @NotNull BooleanSupplier writable) {
+        this.activitySink = activitySink;
+        this.locationSink = locationSink;
+        this.writable = writable;
+    }
+
+    public void onMove(@NotNull Player player, @NotNull Location to) {
+        PendingMovement movement = pending.computeIfAbsent(player.getUniqueId(), uuid -> new PendingMovement(player));
+        movement.active = true;
+        movement.latest = to.clone();
+
+        if ((movement.idle || movement.crossesBlock(to)) && writable.getAsBoolean()) {
+            flush(movement);
+        }
+    }
+
+    /**
+     * Records a location that has been sent outside of this coalescer, e.g. on join.
+     */
+    public void markSent(@NotNull Player player, @NotNull Location location) {
+        pending.computeIfAbsent(player.getUniqueId(), uuid -> new PendingMovement(player)).markSent(location);
+    }
+
+    /**
+     * Sends the pending movement of every player. Players without pending movement are marked idle.
+     */
+    public void flushAll() {
+        if (!writable.getAsBoolean()) return;
+        for (PendingMovement movement : pending.values()) {
+            if (movement.active || movement.latest != null) {
+                flush(movement);
+            } else {
+                movement.idle = true;
+            }
+        }
+    }
+
+    /**
+     * Discards the pending movement of a player who quit, as activity must not be reported for them anymore.
+     */
+    public void remove(@NotNull Player player) {
+        pending.remove(player.getUniqueId());
+    }
+
+    private void flush(@NotNull PendingMovement movement) {
+        movement.idle = false;
+        if (movement.active) {
+            movement.active = false;
+            activitySink.accept(movement.player);
+        }
+        if (movement.latest != null) {
+            Location location = movement.latest;
+            movement.latest = null;
+            movement.markSent(location);
+            locationSink.accept(movement.player, location);
+        }
+    }
+
+    private static class PendingMovement {
+
+        private final Player player;
+        private Location latest;
+        private boolean active;
+        private boolean idle;
+
+        private World sentWorld;
+        private int sentBlockX;
+        private int sentBlockY;
+        private int sentBlockZ;
+
+        private PendingMovement(Player player) {
+            this.player = player;
+        }
+
+        private boolean crossesBlock(@NotNull Location location) {
+            return location.getWorld() != sentWorld
+                    || location.getBlockX() != sentBlockX
+                    || location.getBlockY() != sentBlockY
+                    || location.getBlockZ() != sentBlockZ;
+        }
+
+        private void markSent(@NotNull Location location) {
+            sentWorld = location.getWorld();
+            sentBlockX = location.getBlockX();
+            sentBlockY = location.getBlockY();
+            sentBlockZ = location.getBlockZ();
+        }
+    }
+}
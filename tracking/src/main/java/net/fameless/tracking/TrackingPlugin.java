@@ -2,15 +2,14 @@ package net.fameless.tracking;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioIoHandler;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.codec.LengthFieldPrepender;
-import io.netty.handler.codec.string.StringDecoder;
-import io.netty.handler.codec.string.StringEncoder;
-import net.fameless.network.MessageType;
+import net.fameless.network.HeartbeatHandler;
+import net.fameless.network.NettyTransport;
 import net.fameless.network.NetworkUtil;
+import net.fameless.network.PacketCodec;
+import net.fameless.network.ReconnectBackoff;
 import net.fameless.network.ServerSoftware;
 import net.fameless.network.packet.inbound.*;
 import org.bukkit.Bukkit;
@@ -25,10 +24,10 @@ import org.bukkit.event.player.*;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
-import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public class TrackingPlugin extends JavaPlugin implements Listener {
 
@@ -38,8 +37,11 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
         return instance;
     }
 
-    private final EventLoopGroup group = new MultiThreadIoEventLoopGroup(1, NioIoHandler.newFactory());
+    private final NettyTransport transport = NettyTransport.select();
+    private final EventLoopGroup group = transport.newEventLoopGroup(1);
     private final Object connectionAttemptLock = new Object();
+    private final ReconnectBackoff reconnectBackoff = new ReconnectBackoff();
+    private final HeartbeatHandler heartbeatHandler = new HeartbeatHandler();
     private final Set<UUID> joinProcessed = new HashSet<>();
     private final Set<UUID> afkPlayers = new HashSet<>();
 
@@ -47,6 +49,7 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
     private volatile boolean connecting = false;
 
     private Bootstrap bootstrap;
+    private MovementCoalescer movementCoalescer;
 
     private boolean debugLogging = false;
     private boolean paperAvailable;
@@ -62,17 +65,21 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
         this.debugLogging = getConfig().getBoolean("debug-logging", false);
         getLogger().info("Starting with debug-logging " + (debugLogging ? "enabled" : "disabled") + ".");
 
-        bootstrap = new Bootstrap()
-                .group(group)
-                .channel(NioSocketChannel.class)
+        movementCoalescer = new MovementCoalescer(this::sendActionCaught, this::sendLocationChanged,
+                () -> channel == null || channel.isWritable());
+        long flushInterval = Math.max(1, getConfig().getLong("movement-flush-interval", 10));
+        Bukkit.getScheduler().runTaskTimer(this, movementCoalescer::flushAll, flushInterval, flushInterval);
+
+        bootstrap = transport.configure(new Bootstrap().group(group))
                 .handler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel ch) {
                         ch.pipeline().addLast(
                                 new LengthFieldBasedFrameDecoder(65536, 0, 4, 0, 4),
                                 new LengthFieldPrepender(4),
-                                new StringDecoder(StandardCharsets.UTF_8),
-                                new StringEncoder(StandardCharsets.UTF_8),
+                                new PacketCodec(),
+                                HeartbeatHandler.newIdleStateHandler(),
+                                heartbeatHandler,
                                 new InboundChannelHandler()
                         );
                     }
@@ -80,7 +87,7 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
 
         String host = getConfig().getString("netty-host", "localhost");
         int port = getConfig().getInt("netty-port", 9000);
-        getLogger().info("Attempting to establish connection to proxy plugin instance on: " + host + ":" + port);
+        getLogger().info("Attempting to establish connection to proxy plugin instance on: " + host + ":" + port + " (Transport=" + transport.friendlyName + ")");
         establishConnection(host, port);
 
         try {
@@ -112,18 +119,19 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
                             try {
                                 if (future.isSuccess()) {
                                     this.channel = future.channel();
+                                    reconnectBackoff.reset();
                                     sendHello();
 
-                                    channel.closeFuture().addListener((ChannelFutureListener) -> {
+                                    channel.closeFuture().addListener((ChannelFutureListener) closeFuture -> {
                                         synchronized (connectionAttemptLock) {
                                             this.channel = null;
-                                            Bukkit.getScheduler().runTaskLater(this, () -> establishConnection(host, port), 20);
+                                            scheduleReconnect(host, port);
                                         }
                                     });
 
                                     getLogger().info("Connection to proxy plugin instance established successfully");
                                 } else {
-                                    Bukkit.getScheduler().runTaskLater(this, () -> establishConnection(host, port), 20);
+                                    scheduleReconnect(host, port);
                                 }
                             } finally {
                                 connecting = false;
@@ -133,6 +141,13 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
         }
     }
 
+    private void scheduleReconnect(String host, int port) {
+        if (group.isShuttingDown()) return;
+        long delay = reconnectBackoff.nextDelayMillis();
+        if (debugLogging) getLogger().info("Attempting to reconnect to proxy plugin instance in " + delay + "ms");
+        group.schedule(() -> establishConnection(host, port), delay, TimeUnit.MILLISECONDS);
+    }
+
     public boolean isAfk(@NotNull Player player) {
         return afkPlayers.contains(player.getUniqueId());
     }
@@ -144,8 +159,7 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
         }
 
         if (debugLogging) getLogger().info("Sending a handshake packet to the proxy plugin");
-        HandshakePacket packet = new HandshakePacket(ServerSoftware.SPIGOT, getServer().getPort());
-        channel.writeAndFlush(NetworkUtil.msg(MessageType.HANDSHAKE, packet));
+        new HandshakePacket(ServerSoftware.SPIGOT, getServer().getPort(), NetworkUtil.PROTOCOL_VERSION).send(channel);
     }
 
     private void sendActionCaught(@NotNull Player player) {
@@ -159,8 +173,7 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
         }
 
         if (debugLogging) getLogger().info("Sending an 'action caught' packet for " + player.getName());
-        ActionCaughtPacket packet = new ActionCaughtPacket(player.getUniqueId());
-        channel.writeAndFlush(NetworkUtil.msg(MessageType.ACTION_CAUGHT, packet));
+        new ActionCaughtPacket(player.getUniqueId()).send(channel);
     }
 
     private void sendLocationChanged(@NotNull Player player, @NotNull Location to) {
@@ -171,7 +184,7 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
 
         if (debugLogging)
             getLogger().info("Sending a 'location changed' packet for " + player.getName() + "Location=" + to);
-        LocationChangedPacket packet = new LocationChangedPacket(
+        new LocationChangedPacket(
                 player.getUniqueId(),
                 to.getWorld().getName(),
                 to.getX(),
@@ -179,8 +192,7 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
                 to.getZ(),
                 to.getPitch(),
                 to.getYaw()
-        );
-        channel.writeAndFlush(NetworkUtil.msg(MessageType.LOCATION_CHANGED, packet));
+        ).send(channel);
     }
 
     private void sendGameModeChanged(@NotNull Player player, @NotNull GameMode gameMode) {
@@ -230,8 +242,7 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
     public void onMove(@NotNull PlayerMoveEvent event) {
         if (!event.getFrom().equals(event.getTo())) {
             if (debugLogging) getLogger().info("Caught a move action from player " + event.getPlayer().getName());
-            sendActionCaught(event.getPlayer());
-            sendLocationChanged(event.getPlayer(), event.getTo());
+            movementCoalescer.onMove(event.getPlayer(), event.getTo());
         }
     }
 
@@ -254,6 +265,7 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
         Player player = event.getPlayer();
         sendGameModeChanged(player, player.getGameMode());
         sendLocationChanged(player, player.getLocation());
+        movementCoalescer.markSent(player, player.getLocation());
         Bukkit.getScheduler().runTaskLater(this, () -> {
             try {
                 joinProcessed.add(player.getUniqueId());
@@ -264,6 +276,7 @@ public class TrackingPlugin extends JavaPlugin implements Listener {
 
     @EventHandler(ignoreCancelled = true)
     public void onQuit(@NotNull PlayerQuitEvent event) {
+        movementCoalescer.remove(event.getPlayer());
         joinProcessed.remove(event.getPlayer().getUniqueId());
     }
 
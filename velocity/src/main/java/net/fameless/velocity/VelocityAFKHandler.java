@@ -2,10 +2,14 @@ package net.fameless.velocity;
 
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.command.CommandExecuteEvent;
+import com.velocitypowered.api.event.connection.DisconnectEvent;
 import com.velocitypowered.api.event.player.PlayerChatEvent;
 import com.velocitypowered.api.event.player.ServerPostConnectEvent;
 import com.velocitypowered.api.proxy.Player;
 import net.fameless.core.handling.AFKHandler;
+import net.fameless.core.network.InboundEvent;
+import net.fameless.core.network.InboundEventQueue;
+import net.fameless.core.player.PlayerLifecycleService;
 import org.jetbrains.annotations.NotNull;
 
 
@@ -14,27 +18,35 @@ public class VelocityAFKHandler extends AFKHandler {
     @Override
     public void onInit() {
         VelocityPlatform.getProxy().getEventManager().register(VelocityPlatform.get(), this);
+        PlayerLifecycleService.getInstance().setPlatformRegistry(VelocityPlayer.registry());
     }
 
     @Subscribe
     public void onCommandExecute(@NotNull CommandExecuteEvent event) {
         if (event.getCommandSource() instanceof Player p) {
             VelocityPlayer player = VelocityPlayer.adapt(p);
-            player.setActive();
+            InboundEventQueue.getInstance().offer(new InboundEvent.ActionCaught(player.getUniqueId()));
         }
     }
 
     @Subscribe
     public void onPlayerChat(@NotNull PlayerChatEvent event) {
         VelocityPlayer player = VelocityPlayer.adapt(event.getPlayer());
-        player.setActive();
+        InboundEventQueue.getInstance().offer(new InboundEvent.ActionCaught(player.getUniqueId()));
     }
 
     @Subscribe
     public void onConnect(@NotNull ServerPostConnectEvent event) {
         VelocityPlayer player = VelocityPlayer.adapt(event.getPlayer());
+        player.onServerSwitch();
         if (event.getPreviousServer() == null) {
-            player.setActive();
+            PlayerLifecycleService.getInstance().handleJoin(player);
+            InboundEventQueue.getInstance().offer(new InboundEvent.ActionCaught(player.getUniqueId()));
         }
     }
+
+    @Subscribe
+    public void onDisconnect(@NotNull DisconnectEvent event) {
+        VelocityPlayer.adapt(event.getPlayer().getUniqueId()).ifPresent(PlayerLifecycleService.getInstance()::handleDisconnect);
+    }
 }
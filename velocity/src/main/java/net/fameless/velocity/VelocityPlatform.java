@@ -5,17 +5,22 @@ import com.velocitypowered.api.command.CommandManager;
 import com.velocitypowered.api.event.Subscribe;
 import com.velocitypowered.api.event.proxy.ProxyInitializeEvent;
 import com.velocitypowered.api.event.proxy.ProxyShutdownEvent;
+import com.velocitypowered.api.event.proxy.server.ServerRegisteredEvent;
+import com.velocitypowered.api.event.proxy.server.ServerUnregisteredEvent;
 import com.velocitypowered.api.plugin.Dependency;
 import com.velocitypowered.api.plugin.Plugin;
 import com.velocitypowered.api.proxy.ProxyServer;
 import net.fameless.core.BungeeAFK;
 import net.fameless.core.BungeeAFKPlatform;
 import net.fameless.core.ServerEnvironment;
+import net.fameless.core.network.OutboundPacketSender;
 import org.bstats.velocity.Metrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.InetSocketAddress;
 import java.util.List;
+import java.util.Optional;
 
 @Plugin(
         id = "bungeeafk",
@@ -47,6 +52,16 @@ public class VelocityPlatform implements BungeeAFKPlatform {
         BungeeAFK.handleShutdown();
     }
 
+    @Subscribe
+    public void onServerRegistered(ServerRegisteredEvent event) {
+        OutboundPacketSender.getInstance().getRegistry().refreshServerAddresses();
+    }
+
+    @Subscribe
+    public void onServerUnregistered(ServerUnregisteredEvent event) {
+        OutboundPacketSender.getInstance().getRegistry().refreshServerAddresses();
+    }
+
     @Subscribe
     public void onProxyInitialization(ProxyInitializeEvent event) {
         long startTime = System.currentTimeMillis();
@@ -90,6 +105,11 @@ public class VelocityPlatform implements BungeeAFKPlatform {
                 .toList();
     }
 
+    @Override
+    public Optional<InetSocketAddress> getServerAddress(String serverName) {
+        return proxyServer.getServer(serverName).map(server -> server.getServerInfo().getAddress());
+    }
+
     @Override
     public ServerEnvironment getServerEnvironment() {
         return ServerEnvironment.PROXY;
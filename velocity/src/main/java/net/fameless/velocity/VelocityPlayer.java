@@ -7,44 +7,38 @@ import net.fameless.api.event.PlayerKickEvent;
 import net.fameless.core.adapter.APIAdapter;
 import net.fameless.core.command.framework.CallerType;
 import net.fameless.core.player.BAFKPlayer;
+import net.fameless.core.player.PlayerRegistry;
 import net.fameless.core.util.ServerPinger;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.text.Component;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
 public class VelocityPlayer extends BAFKPlayer<Player> {
 
-    private static final List<VelocityPlayer> VELOCITY_PLAYERS = new ArrayList<>();
+    private static final PlayerRegistry<VelocityPlayer> VELOCITY_PLAYERS = new PlayerRegistry<>();
 
-    public VelocityPlayer(@NotNull Player player) {
-        super(player.getUniqueId());
-        this.name = player.getUsername();
-        VELOCITY_PLAYERS.add(this);
+    private VelocityPlayer(@NotNull Player player) {
+        super(player.getUniqueId(), player.getUsername());
     }
 
     public static @NotNull VelocityPlayer adapt(Player player) {
-        return VELOCITY_PLAYERS.stream()
-                .filter(vp -> vp.getUniqueId().equals(player.getUniqueId()))
-                .findFirst()
-                .orElseGet(() -> new VelocityPlayer(player));
+        return VELOCITY_PLAYERS.computeIfAbsent(player.getUniqueId(), uuid -> new VelocityPlayer(player));
     }
 
     public static @NotNull Optional<VelocityPlayer> adapt(UUID uuid) {
-        return VELOCITY_PLAYERS.stream()
-                .filter(vp -> vp.getUniqueId().equals(uuid))
-                .findFirst();
+        return VELOCITY_PLAYERS.get(uuid);
     }
 
     public static @NotNull Optional<VelocityPlayer> adapt(String name) {
-        return VELOCITY_PLAYERS.stream()
-                .filter(vp -> vp.getName().equals(name))
-                .findFirst();
+        return VELOCITY_PLAYERS.get(name);
+    }
+
+    static @NotNull PlayerRegistry<VelocityPlayer> registry() {
+        return VELOCITY_PLAYERS;
     }
 
     @Override